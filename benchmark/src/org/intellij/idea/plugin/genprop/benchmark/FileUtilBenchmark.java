@@ -0,0 +1,68 @@
+package org.intellij.idea.plugin.genprop.benchmark;
+
+import org.intellij.idea.plugin.genprop.util.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading templates. The file template repeats the default template, once for each 10 fields.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileUtilBenchmark {
+
+    static final String DEFAULT_TEMPLATE = "/org/intellij/idea/plugin/genprop/template/DefaultConcat.vm";
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        String template = FileUtil.readFile(DEFAULT_TEMPLATE);
+        StringBuilder content = new StringBuilder(template.length() * (size / 10 + 1));
+        for (int i = 0; i < size; i += 10) {
+            content.append(template);
+        }
+        file = File.createTempFile("genprop-benchmark", ".vm");
+        FileUtil.saveFile(file.getPath(), content.toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public String readFile() throws IOException {
+        return FileUtil.readFile(file);
+    }
+
+    @Benchmark
+    public String readResource() throws IOException {
+        return FileUtil.readFile(DEFAULT_TEMPLATE);
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.intellij.idea.plugin.genprop.benchmark;
+
+import org.intellij.idea.plugin.genprop.config.Config;
+import org.intellij.idea.plugin.genprop.element.BenchmarkElements;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks filtering fields using the filter pattern of the settings, as done for each field before generating and
+ * by the inspection.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private List<FieldElement> fields;
+    private Config config;
+
+    @Setup
+    public void setUp() {
+        fields = BenchmarkElements.newFieldElements(size);
+        config = new Config();
+        config.setFilterFieldName("^log$|.*Count\\d*");
+        config.setFilterTransientModifier(true);
+    }
+
+    /**
+     * Filters the fields using the pattern of the settings, the pattern is fetched once.
+     */
+    @Benchmark
+    public int applyFilter() {
+        int filtered = 0;
+        for (FieldElement field : fields) {
+            if (field.applyFilter(config.getFilterPattern())) {
+                filtered++;
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Fetches the filter pattern of the settings after it has been changed.
+     */
+    @Benchmark
+    public Object getFilterPatternAfterChange() {
+        config.setFilterStaticModifier(!config.isFilterStaticModifier());
+        return config.getFilterPattern();
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.intellij.idea.plugin.genprop.benchmark;
+
+import org.intellij.idea.plugin.genprop.config.Config;
+import org.intellij.idea.plugin.genprop.element.BenchmarkElements;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.element.SourceElementFactory;
+import org.intellij.idea.plugin.genprop.model.AccessorPipeline;
+import org.intellij.idea.plugin.genprop.model.GenerationPipeline;
+import org.intellij.idea.plugin.genprop.model.MemorySourceClass;
+import org.intellij.idea.plugin.genprop.model.PropertyConstantPipeline;
+import org.intellij.idea.plugin.genprop.model.SourceField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generation pipeline on a class built in memory: filtering the fields, preselecting them, finding the
+ * conflicts and building the declarations, as done by the actions for the class in the editor.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    @Param({"constant", "accessor"})
+    private String pipelineName;
+
+    private MemorySourceClass clazz;
+    private GenerationPipeline pipeline;
+    private Config config;
+
+    @Setup
+    public void setUp() {
+        clazz = BenchmarkElements.newSourceClass(size);
+        pipeline = "constant".equals(pipelineName) ? new PropertyConstantPipeline() : new AccessorPipeline();
+        config = new Config();
+        config.setFilterConstantField(true);
+        config.setFilterTransientModifier(true);
+    }
+
+    /**
+     * Filters the fields of the class.
+     */
+    @Benchmark
+    public List<SourceField> filter() {
+        return pipeline.filterFields(clazz, config.getFilterPattern());
+    }
+
+    /**
+     * Runs the whole pipeline: filter, preselect, conflicts and the declarations of the preselected fields.
+     */
+    @Benchmark
+    public String generate() {
+        List<SourceField> fields = pipeline.filterFields(clazz, config.getFilterPattern());
+        List<SourceField> preselected = pipeline.preselect(clazz, fields);
+        pipeline.findConflicts(clazz, preselected);
+
+        List<FieldElement> elements = new ArrayList<FieldElement>(preselected.size());
+        for (SourceField field : preselected) {
+            elements.add(SourceElementFactory.newFieldElement(field));
+        }
+        return pipeline.declarationText(elements);
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.intellij.idea.plugin.genprop.benchmark;
+
+import org.intellij.idea.plugin.genprop.element.BenchmarkElements;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks deriving the constant, getter and setter names of fields. <p/> With 10,000 fields the names do not fit in
+ * the name cache of {@link StringUtil}, so the uncached path is measured too.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = BenchmarkElements.fieldName(i);
+        }
+    }
+
+    @Benchmark
+    public void propertyConstantNames(Blackhole bh) {
+        for (String name : names) {
+            bh.consume(StringUtil.generatePropertyConstantName(name));
+        }
+    }
+
+    @Benchmark
+    public void accessorNames(Blackhole bh) {
+        for (String name : names) {
+            bh.consume(StringUtil.generateGetterNameGeneral(name));
+            bh.consume(StringUtil.generateGetterNameBoolean(name));
+            bh.consume(StringUtil.generateSetterName(name));
+        }
+    }
+
+}
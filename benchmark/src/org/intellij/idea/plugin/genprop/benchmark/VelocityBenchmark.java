@@ -0,0 +1,73 @@
+package org.intellij.idea.plugin.genprop.benchmark;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.intellij.idea.plugin.genprop.element.BenchmarkElements;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.util.FileUtil;
+import org.intellij.idea.plugin.genprop.velocity.VelocityFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering the default template over the fields, using the cached template and parsing the template each
+ * time.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VelocityBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private String body;
+    private List<FieldElement> fields;
+
+    @Setup
+    public void setUp() throws Exception {
+        body = FileUtil.readFile(FileUtilBenchmark.DEFAULT_TEMPLATE);
+        fields = BenchmarkElements.newFieldElements(size);
+        VelocityFactory.getTemplate(body); // initialize the shared runtime
+    }
+
+    @Benchmark
+    public String renderCachedTemplate() throws Exception {
+        return render(VelocityFactory.getTemplate(body));
+    }
+
+    @Benchmark
+    public String renderParsedTemplate() throws Exception {
+        VelocityFactory.invalidate();
+        return render(VelocityFactory.getTemplate(body));
+    }
+
+    private String render(Template template) {
+        VelocityContext vc = new VelocityContext();
+        vc.put("classname", "Customer");
+        vc.put("fields", fields);
+        StringWriter sw = new StringWriter(fields.size() * 32);
+        template.merge(vc, sw);
+        return sw.toString();
+    }
+
+}
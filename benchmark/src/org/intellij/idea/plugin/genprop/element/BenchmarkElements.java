@@ -0,0 +1,136 @@
+package org.intellij.idea.plugin.genprop.element;
+
+import org.intellij.idea.plugin.genprop.model.MemorySourceClass;
+import org.intellij.idea.plugin.genprop.model.MemorySourceField;
+import org.intellij.idea.plugin.genprop.model.MemorySourceMethod;
+import org.intellij.idea.plugin.genprop.model.SourceModifiers;
+import org.intellij.idea.plugin.genprop.model.SourceType;
+import org.intellij.idea.plugin.genprop.model.TypeClassification;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates elements for the benchmarks without PSI. <p/> In the same package as the elements since their setters are
+ * package private.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public final class BenchmarkElements {
+
+    private static final String[] TYPES = {"String", "Long", "int", "boolean", "java.util.List", "java.util.Date"};
+
+    private static final SourceType[] SOURCE_TYPES = {
+            new SourceType("java.lang.String", "String",
+                    new TypeClassification(TypeClassification.OBJECT | TypeClassification.STRING)),
+            new SourceType("java.lang.Long", "Long",
+                    new TypeClassification(TypeClassification.OBJECT | TypeClassification.NUMERIC)),
+            new SourceType("int", "int",
+                    new TypeClassification(TypeClassification.PRIMITIVE | TypeClassification.NUMERIC)),
+            new SourceType("boolean", "boolean",
+                    new TypeClassification(TypeClassification.PRIMITIVE | TypeClassification.BOOLEAN)),
+            new SourceType("java.util.List<java.lang.String>", "List<String>", new TypeClassification(
+                    TypeClassification.OBJECT | TypeClassification.COLLECTION | TypeClassification.LIST)),
+            new SourceType("java.util.Date", "Date",
+                    new TypeClassification(TypeClassification.OBJECT | TypeClassification.DATE))};
+
+    private static final SourceType VOID = new SourceType("void", "void", new TypeClassification(
+            TypeClassification.PRIMITIVE));
+
+    private BenchmarkElements() {
+    }
+
+    /**
+     * Get's the name of the n'th field, names are in camel case so the constant names have underscores.
+     *
+     * @param n the index of the field.
+     * @return the field name.
+     */
+    public static String fieldName(int n) {
+        switch (n % 4) {
+            case 0:
+                return "name" + n;
+            case 1:
+                return "customerAddress" + n;
+            case 2:
+                return "orderLineItemCount" + n;
+            default:
+                return "id" + n;
+        }
+    }
+
+    /**
+     * Creates field elements of mixed types. Every 10th field is a static constant and every 7th field is transient.
+     *
+     * @param count the number of fields.
+     * @return the fields.
+     */
+    public static List<FieldElement> newFieldElements(int count) {
+        List<FieldElement> fields = new ArrayList<FieldElement>(count);
+        for (int i = 0; i < count; i++) {
+            String type = TYPES[i % TYPES.length];
+            FieldElement fe = new FieldElement();
+            fe.setName(fieldName(i));
+            fe.setTypeName(type);
+            fe.setTypeQualifiedName(type);
+            fe.setTypePresentableText(type.substring(type.lastIndexOf('.') + 1));
+            fe.setString("String".equals(type));
+            fe.setNumeric("Long".equals(type) || "int".equals(type));
+            fe.setPrimitive("int".equals(type) || "boolean".equals(type));
+            fe.setBoolean("boolean".equals(type));
+            fe.setObject(!fe.isPrimitive());
+            fe.setCollection(type.endsWith("List"));
+            fe.setList(type.endsWith("List"));
+            fe.setDate(type.endsWith("Date"));
+            fe.setModifierPrivate(true);
+            if (i % 10 == 9) {
+                fe.setModifierStatic(true);
+                fe.setModifierFinal(true);
+                fe.setConstant(true);
+            }
+            if (i % 7 == 6) {
+                fe.setModifierTransient(true);
+            }
+            fields.add(fe);
+        }
+        return fields;
+    }
+
+    /**
+     * Creates a class of the source model with fields of mixed types, with the same modifiers as {@link
+     * #newFieldElements(int)}. Every 3rd field already has its property name constant, getter and setter, so
+     * preselecting and finding the conflicts have hits as well as misses.
+     *
+     * @param count the number of fields.
+     * @return the class.
+     */
+    public static MemorySourceClass newSourceClass(int count) {
+        SourceModifiers privateField = new SourceModifiers(SourceModifiers.PRIVATE);
+        SourceModifiers transientField = new SourceModifiers(SourceModifiers.PRIVATE | SourceModifiers.TRANSIENT);
+        SourceModifiers staticField = new SourceModifiers(
+                SourceModifiers.PRIVATE | SourceModifiers.STATIC | SourceModifiers.FINAL);
+        SourceModifiers constant = new SourceModifiers(
+                SourceModifiers.PUBLIC | SourceModifiers.STATIC | SourceModifiers.FINAL);
+        SourceModifiers publicMethod = new SourceModifiers(SourceModifiers.PUBLIC);
+
+        MemorySourceClass clazz = new MemorySourceClass("org.example.Generated" + count, null);
+        for (int i = 0; i < count; i++) {
+            String name = fieldName(i);
+            SourceType type = SOURCE_TYPES[i % SOURCE_TYPES.length];
+            SourceModifiers modifiers = i % 10 == 9 ? staticField : i % 7 == 6 ? transientField : privateField;
+            clazz.addField(new MemorySourceField(name, type, modifiers));
+            if (i % 3 == 0) {
+                clazz.addField(new MemorySourceField(StringUtil.generatePropertyConstantName(name),
+                        SOURCE_TYPES[0], constant));
+                clazz.addMethod(new MemorySourceMethod(type.getClassification().isBoolean()
+                        ? StringUtil.generateGetterNameBoolean(name)
+                        : StringUtil.generateGetterNameGeneral(name), type, publicMethod));
+                clazz.addMethod(new MemorySourceMethod(StringUtil.generateSetterName(name), VOID, publicMethod));
+            }
+        }
+        return clazz;
+    }
+
+}
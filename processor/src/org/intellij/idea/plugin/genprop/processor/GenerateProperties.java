@@ -0,0 +1,51 @@
+package org.intellij.idea.plugin.genprop.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the property name constants of the annotated class at compile time. <p/> The constants are generated in a
+ * companion class in the same package, {@code FooProperties} for the class {@code Foo}, with the same names as the
+ * plugin generates in the editor: {@code public static final String PROPERTYNAME_FIRST_NAME = "firstName";} <p/> The
+ * fields are filtered using the same rules as the filter settings of the plugin, the defaults are the defaults of the
+ * settings.
+ *
+ * @author Thomas Edwin Santosa
+ * @see GeneratePropertiesProcessor
+ * @since 0.16
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateProperties {
+
+    /**
+     * The simple name of the generated class, by default the name of the annotated class followed by {@code
+     * Properties}. Nested classes are prefixed with the names of the enclosing classes, etc. {@code Outer_InnerProperties}.
+     */
+    String className() default "";
+
+    /**
+     * Exclude constant fields, that are static and does not have any lowercase character in their name.
+     */
+    boolean filterConstantField() default true;
+
+    /**
+     * Exclude fields with the static modifier.
+     */
+    boolean filterStaticModifier() default true;
+
+    /**
+     * Exclude fields with the transient modifier.
+     */
+    boolean filterTransientModifier() default false;
+
+    /**
+     * Exclude fields whose name matches this regular expression, empty to not filter by name.
+     */
+    String filterFieldName() default "";
+
+}
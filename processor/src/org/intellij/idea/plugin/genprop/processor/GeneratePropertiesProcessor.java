@@ -0,0 +1,174 @@
+package org.intellij.idea.plugin.genprop.processor;
+
+import org.intellij.idea.plugin.genprop.config.FilterPattern;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Annotation processor generating the property name constants of the classes annotated with {@link
+ * GenerateProperties}. <p/> Each generated class only depends on the class it is generated for, which is its
+ * originating element, so the processor supports incremental compilation: only the companion classes of the changed
+ * classes are generated again (the processor is registered as isolating for Gradle).
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+@SupportedAnnotationTypes("org.intellij.idea.plugin.genprop.processor.GenerateProperties")
+public class GeneratePropertiesProcessor
+        extends AbstractProcessor {
+
+    private static final String CLASS_NAME_SUFFIX = "Properties";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateProperties.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.ENUM) {
+                error(element, "@GenerateProperties is only supported on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                generate(type, type.getAnnotation(GenerateProperties.class));
+            } catch (IOException e) {
+                error(type, "Error generating the property name constants: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates the companion class with the property name constants of the class.
+     */
+    private void generate(TypeElement type, GenerateProperties settings)
+            throws IOException {
+        FilterPattern pattern = new FilterPattern();
+        pattern.setConstantField(settings.filterConstantField());
+        pattern.setStaticModifier(settings.filterStaticModifier());
+        pattern.setTransientModifier(settings.filterTransientModifier());
+        pattern.setFieldName(settings.filterFieldName());
+
+        // constant name => field name, in declaration order of the fields
+        Map<String, String> constants = new LinkedHashMap<String, String>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            String name = field.getSimpleName().toString();
+            try {
+                if (pattern.isFieldFiltered(getFilterFlags(field), name)) {
+                    continue;
+                }
+            } catch (PatternSyntaxException e) {
+                error(type, "Invalid filterFieldName regular expression: " + e.getMessage());
+                return;
+            }
+
+            String constant = StringUtil.generatePropertyConstantName(name);
+            String existing = constants.get(constant);
+            if (existing != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "The fields " + existing + " and " + name + " have the same property name constant " +
+                                constant + ", only the first is generated", field);
+                continue;
+            }
+            constants.put(constant, name);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String className = settings.className().length() > 0 ? settings.className() : getClassName(type);
+        String qualifiedName = packageName.length() == 0 ? className : packageName + "." + className;
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        Writer writer = file.openWriter();
+        try {
+            writer.write(toSource(type, packageName, className, constants));
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Get's the filter flags of the field, as {@link org.intellij.idea.plugin.genprop.element.FieldElement} does for
+     * the fields in the editor.
+     */
+    private static int getFilterFlags(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        boolean isStatic = modifiers.contains(Modifier.STATIC);
+        int flags = 0;
+        if (isStatic && !StringUtil.hasLowerCaseChar(field.getSimpleName().toString())) {
+            flags |= FilterPattern.CONSTANT_FIELD;
+        }
+        if (isStatic) {
+            flags |= FilterPattern.STATIC_MODIFIER;
+        }
+        if (modifiers.contains(Modifier.TRANSIENT)) {
+            flags |= FilterPattern.TRANSIENT_MODIFIER;
+        }
+        return flags;
+    }
+
+    /**
+     * Get's the default name of the generated class, nested classes are prefixed with the enclosing classes.
+     */
+    private static String getClassName(TypeElement type) {
+        StringBuilder sb = new StringBuilder(type.getSimpleName()).append(CLASS_NAME_SUFFIX);
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            sb.insert(0, '_').insert(0, e.getSimpleName());
+        }
+        return sb.toString();
+    }
+
+    private static String toSource(TypeElement type, String packageName, String className,
+                                   Map<String, String> constants) {
+        StringBuilder sb = new StringBuilder(256 + constants.size() * 128);
+        if (packageName.length() > 0) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n");
+        sb.append(" * Property name constants of {@link ").append(type.getQualifiedName()).append("}.\n");
+        sb.append(" * <p/>\n");
+        sb.append(" * Generated by ").append(GeneratePropertiesProcessor.class.getName()).append(", do not edit.\n");
+        sb.append(" */\n");
+        if (type.getModifiers().contains(Modifier.PUBLIC)) {
+            sb.append("public ");
+        }
+        sb.append("final class ").append(className).append(" {\n");
+        for (Map.Entry<String, String> constant : constants.entrySet()) {
+            sb.append("\n");
+            sb.append("    /** Property name constant for {@code ").append(constant.getValue()).append("}. */\n");
+            sb.append("    public static final String ").append(constant.getKey())
+                    .append(" = \"").append(constant.getValue()).append("\";\n");
+        }
+        sb.append("\n");
+        sb.append("    private ").append(className).append("() {\n");
+        sb.append("    }\n");
+        sb.append("\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
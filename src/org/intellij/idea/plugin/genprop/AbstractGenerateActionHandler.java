@@ -5,16 +5,22 @@ package org.intellij.idea.plugin.genprop;
  * Time: 7:47
  */
 
+import com.intellij.codeInsight.FileModificationService;
 import com.intellij.jam.view.ui.SelectElementsDialog;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.EditorFactory;
-import com.intellij.openapi.editor.actionSystem.EditorWriteActionHandler;
+import com.intellij.openapi.editor.actionSystem.EditorActionHandler;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import org.apache.log4j.Logger;
 import org.intellij.idea.plugin.genprop.config.Config;
@@ -22,19 +28,33 @@ import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
 import org.intellij.idea.plugin.genprop.config.FilterPattern;
 import org.intellij.idea.plugin.genprop.element.ElementFactory;
 import org.intellij.idea.plugin.genprop.element.FieldElement;
-import org.intellij.idea.plugin.genprop.element.MethodElement;
 import org.intellij.idea.plugin.genprop.exception.GenerateCodeException;
 import org.intellij.idea.plugin.genprop.exception.PluginException;
+import org.intellij.idea.plugin.genprop.model.GenerationPipeline;
+import org.intellij.idea.plugin.genprop.model.SourceField;
+import org.intellij.idea.plugin.genprop.model.SourceMethod;
+import org.intellij.idea.plugin.genprop.psi.MemberIndex;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
+import org.intellij.idea.plugin.genprop.psi.PsiSourceClass;
+import org.intellij.idea.plugin.genprop.psi.PsiSourceField;
+import org.intellij.idea.plugin.genprop.psi.PsiSourceMethod;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import javax.swing.*;
 import java.util.*;
 
 /**
+ * Base of the action handlers. <p/> The filtering, preselection and conflict detection are done by the {@link
+ * GenerationPipeline pipeline} of the handler on the {@link PsiSourceClass source model} of the class, the handler
+ * only asks the user and applies the generated code to the class. <p/> The members are found and preselected in a
+ * background read action that can be cancelled, only applying the generated code runs in a write command.
+ *
  * @author Thomas Edwin Santosa
  */
 public abstract class AbstractGenerateActionHandler
-        extends EditorWriteActionHandler {
+        extends EditorActionHandler {
     private static final Logger log = Logger.getLogger(AbstractGenerateActionHandler.class);
     private static final PsiMethod[] EMPTY_PSI_METHODS = new PsiMethod[0];
     private Editor editor;
@@ -45,6 +65,8 @@ public abstract class AbstractGenerateActionHandler
     private CodeStyleManager codeStyleManager;
     private Config config;
     private PsiJavaFile javaFile;
+    private MemberIndex memberIndex;
+    private PsiSourceClass sourceClass;
 
     protected AbstractGenerateActionHandler() {
         psi = GeneratePropertyNameContext.getPsi();
@@ -57,8 +79,8 @@ public abstract class AbstractGenerateActionHandler
      * @param dataContext the current data context.
      */
     @Override
-    public void executeWriteAction(Editor editor1, DataContext dataContext) {
-        log.debug("executeWriteAction - START");
+    protected void doExecute(Editor editor1, @Nullable Caret caret, DataContext dataContext) {
+        log.debug("doExecute - START");
         editor = editor1;
 
         project = editor1.getProject();
@@ -81,7 +103,7 @@ public abstract class AbstractGenerateActionHandler
         }
 
         executeAction(project, clazz);
-        log.debug("executeWriteAction - END");
+        log.debug("doExecute - END");
     }
 
     /**
@@ -90,7 +112,7 @@ public abstract class AbstractGenerateActionHandler
      * @param project1 the current project.
      * @since 2.20
      */
-    public void executeAction(Project project1, final PsiClass clazz) {
+    public void executeAction(Project project1, PsiClass clazz) {
         log.debug("executeAction - START");
         if (project1 == null || clazz == null) {
             return; // silently ignore since no project is opened or clazz not provided.
@@ -124,65 +146,180 @@ public abstract class AbstractGenerateActionHandler
         GeneratePropertyNameContext.setElementFactory(elementFactory);
         config = GeneratePropertyNameContext.getConfig(); // use latest config
 
-        try {
-            PsiField[] filteredFields = filterAvailableFields(clazz, config.getFilterPattern());
-            if (log.isDebugEnabled()) {
-                log.debug("Number of fields after filtering: " + filteredFields.length);
+        // finding the members walks the class hierarchy, so it is done in the background and can be cancelled
+        discoverMembers(clazz);
+
+        log.debug("executeAction - END");
+    }
+
+    /**
+     * Finds and preselects the members of the class in a background read action, then shows the member chooser
+     * dialog or generates the code for all the members when the dialog is not used.
+     *
+     * @param clazz the class to generate code in.
+     */
+    private void discoverMembers(final PsiClass clazz) {
+        if (!clazz.isValid()) {
+            return; // the class was deleted meanwhile
+        }
+
+        Task.Backgroundable task = new Task.Backgroundable(project, "Finding members of " + clazz.getName(), true) {
+            private Members members;
+
+            public void run(@NotNull final ProgressIndicator indicator) {
+                ApplicationManager.getApplication().runReadAction(new Runnable() {
+                    public void run() {
+                        if (clazz.isValid()) {
+                            members = findMembers(clazz, indicator);
+                        }
+                    }
+                });
             }
 
-            PsiMethod[] filteredMethods = EMPTY_PSI_METHODS;
-            if (config.isEnableMethods()) {
-                // filter methods as it is enabled from config
-                filteredMethods = filterAvailableMethods(clazz, config.getFilterPattern());
-                if (log.isDebugEnabled()) {
-                    log.debug("Number of methods after filtering: " + filteredMethods.length);
+            @Override
+            public void onSuccess() {
+                if (members != null && clazz.isValid()) {
+                    showMembers(clazz, members);
                 }
             }
+        };
+        task.queue();
+    }
 
-            if (displayMememberChooser(filteredFields.length, filteredMethods.length)) {
-                log.debug("Displaying member chooser dialog");
-                PsiMember[] dialogMembers = combineToMemberList(filteredFields, filteredMethods);
-                List<PsiElement> psiElements = new ArrayList<PsiElement>();
-                psiElements.addAll(Arrays.asList(dialogMembers));
-                final SelectElementsDialog dialog = new SelectElementsDialog(
-                        project1,
-                        psiElements, "Choose members to be included in generated properties", "Fields");
-                dialog.setSize(200, 200);
-                List<PsiElement> preselected = preselect(clazz, filteredFields);
-                dialog.getSelectedItems().addAll(preselected);
-                SwingUtilities.invokeLater(
-                        new Runnable() {
-                            public void run() {
-                                dialog.show();
-                                if (SelectElementsDialog.CANCEL_EXIT_CODE == dialog.getExitCode()) {
-                                    return;  // stop action, since user clicked cancel in dialog
-                                }
-                                Collection<PsiElement> selectedMembers = dialog.getSelectedItems();
-                                executeGenerateActionLater(clazz, selectedMembers);
-                            }
-                        });
-            } else {
+    /**
+     * Finds the available members of the class and the members to preselect. Must be run in a read action.
+     */
+    private Members findMembers(PsiClass clazz, ProgressIndicator indicator) {
+        long start = GenerationStatistics.start();
+        memberIndex = new MemberIndex(clazz); // index members once for all the lookups of this action
+        sourceClass = new PsiSourceClass(memberIndex, elementFactory, psi);
+        GenerationStatistics.stop(GenerationPhase.DISCOVERY, start);
+
+        Members members = new Members();
+        indicator.setText("Filtering fields");
+        members.fields = filterAvailableFields(clazz, config.getFilterPattern());
+        if (log.isDebugEnabled()) {
+            log.debug("Number of fields after filtering: " + members.fields.length);
+        }
 
-                // no dialog, so select all fields (filtered) and methods (filtered)
-                log.debug(
-                        "Member chooser dialog not used - either disabled in settings or no fields/methods to select after filtering");
+        members.methods = EMPTY_PSI_METHODS;
+        if (config.isEnableMethods()) {
+            // filter methods as it is enabled from config
+            indicator.checkCanceled();
+            indicator.setText("Filtering methods");
+            members.methods = filterAvailableMethods(clazz, config.getFilterPattern());
+            if (log.isDebugEnabled()) {
+                log.debug("Number of methods after filtering: " + members.methods.length);
+            }
+        }
+
+        members.useDialog = displayMememberChooser(members.fields.length, members.methods.length);
+        if (members.useDialog) {
+            // preselecting the members looks up the inherited members
+            indicator.checkCanceled();
+            indicator.setText("Preselecting members");
+            start = GenerationStatistics.start();
+            members.preselected = preselect(clazz, members.fields);
+            GenerationStatistics.stop(GenerationPhase.DISCOVERY, start, members.fields.length);
+        }
+        return members;
+    }
 
-                Collection<PsiMember> selectedMembers = Arrays.asList(
-                        combineToMemberList(
-                                filteredFields,
-                                filteredMethods));
-                executeGenerateAction(clazz, selectedMembers);
+    /**
+     * Shows the member chooser dialog, or generates the code for all the members if the dialog is not used.
+     */
+    private void showMembers(PsiClass clazz, Members members) {
+        if (members.useDialog) {
+            log.debug("Displaying member chooser dialog");
+            List<PsiElement> psiElements = new ArrayList<PsiElement>();
+            psiElements.addAll(Arrays.asList(combineToMemberList(members.fields, members.methods)));
+            SelectElementsDialog dialog = new SelectElementsDialog(
+                    project, psiElements, "Choose members to be included in generated properties", "Fields");
+            dialog.setSize(200, 200);
+            dialog.getSelectedItems().addAll(members.preselected);
+            dialog.show();
+            if (SelectElementsDialog.CANCEL_EXIT_CODE == dialog.getExitCode()) {
+                return;  // stop action, since user clicked cancel in dialog
             }
-        } catch (IncorrectOperationException e) {
-            handleExeption(e);
-        } catch (GenerateCodeException e) {
-            handleExeption(e);
+            executeGenerateActionLater(clazz, dialog.getSelectedItems());
+        } else {
+            // no dialog, so select all fields (filtered) and methods (filtered)
+            log.debug(
+                    "Member chooser dialog not used - either disabled in settings or no fields/methods to select after filtering");
+            executeGenerateActionLater(clazz, Arrays.asList(combineToMemberList(members.fields, members.methods)));
         }
+    }
 
-        log.debug("executeAction - END");
+    /**
+     * Prepares this handler for generating code in the given class without an editor or any dialogs. <p/> Used when
+     * generating code in many classes at once, see {@link GeneratePropertyBulkAction}.
+     *
+     * @param project1 the current project.
+     * @param clazz    the class to generate code in.
+     * @since 0.16
+     */
+    void prepare(Project project1, PsiClass clazz) {
+        project = project1;
+        manager = psi.getPsiManager(project1);
+        elementFactory = psi.getPsiElemetFactory(manager);
+        codeStyleManager = psi.getCodeStyleManager(project1);
+        javaFile = (PsiJavaFile) clazz.getContainingFile();
+        editor = null;
+        config = GeneratePropertyNameContext.getConfig(); // use latest config
+        memberIndex = new MemberIndex(clazz);
+        sourceClass = new PsiSourceClass(memberIndex, elementFactory, psi);
+    }
+
+    /**
+     * Get's the pipeline that filters the members and builds the code of this action.
+     *
+     * @return the pipeline.
+     * @since 0.16
+     */
+    protected abstract GenerationPipeline getPipeline();
+
+    /**
+     * Preselects the fields the code has not been generated for yet.
+     *
+     * @param clazz          the class.
+     * @param filteredFields the fields available for this action.
+     * @return the fields to preselect in the member chooser dialog.
+     */
+    protected List<PsiElement> preselect(PsiClass clazz, PsiField[] filteredFields) {
+        PsiSourceClass source = getSourceClass(clazz);
+        List<PsiSourceField> fields = new ArrayList<PsiSourceField>(filteredFields.length);
+        for (PsiField field : filteredFields) {
+            fields.add(source.wrap(field));
+        }
+
+        List<PsiElement> preselected = new ArrayList<PsiElement>();
+        for (PsiSourceField field : getPipeline().preselect(source, fields)) {
+            preselected.add(field.getPsiField());
+        }
+        return preselected;
     }
 
-    protected abstract List<PsiElement> preselect(PsiClass clazz, PsiField[] filteredFields);
+    /**
+     * Does the code generated for the selected fields conflict with members that exist in the class?
+     *
+     * @param clazz           the class.
+     * @param selectedMembers the selected members, only the fields are generated for.
+     * @return true if there is a conflict.
+     * @since 0.16
+     */
+    protected boolean hasConflicts(PsiClass clazz, Collection<? extends PsiElement> selectedMembers) {
+        long start = GenerationStatistics.start();
+        PsiSourceClass source = getSourceClass(clazz);
+        List<SourceField> fields = new ArrayList<SourceField>(selectedMembers.size());
+        for (PsiElement member : selectedMembers) {
+            if (member instanceof PsiField) {
+                fields.add(source.wrap((PsiField) member));
+            }
+        }
+        boolean conflicts = !getPipeline().findConflicts(source, fields).isEmpty();
+        GenerationStatistics.stop(GenerationPhase.CONFLICTS, start, fields.size());
+        return conflicts;
+    }
 
     /**
      * Combines the two lists into one list of members.
@@ -252,7 +389,12 @@ public abstract class AbstractGenerateActionHandler
      * Generates the toString() code for the specified class and selected fields, doing the work through a WriteAction ran
      * by a CommandProcessor
      */
-    private void executeGenerateActionLater(final PsiClass clazz, final Collection<PsiElement> selectedMemebers) {
+    private void executeGenerateActionLater(final PsiClass clazz,
+                                            final Collection<? extends PsiElement> selectedMemebers) {
+        if (!FileModificationService.getInstance().preparePsiElementForWrite(clazz)) {
+            return; // the file is read-only
+        }
+
         Runnable writeCommand = new Runnable() {
             public void run() {
                 ApplicationManager.getApplication().runWriteAction(
@@ -260,6 +402,8 @@ public abstract class AbstractGenerateActionHandler
                             public void run() {
                                 try {
                                     executeGenerateAction(clazz, selectedMemebers);
+                                } catch (IncorrectOperationException e) {
+                                    handleExeption(e);
                                 } catch (GenerateCodeException e) {
                                     handleExeption(e);
                                 }
@@ -334,6 +478,47 @@ public abstract class AbstractGenerateActionHandler
         return fieldElementList;
     }
 
+    /**
+     * Reformats the code style of the given members, one pass for each run of adjacent members. The members inserted
+     * together are reformatted at once, the replaced members each on their own, so the code of the class in between
+     * is left as it is.
+     *
+     * @param clazz   the class containing the members.
+     * @param members the members added to or replaced in the class.
+     * @throws IncorrectOperationException is thrown if there is an IDEA error.
+     */
+    protected void reformatMembers(PsiClass clazz, Collection<? extends PsiMember> members)
+            throws IncorrectOperationException {
+        if (members.isEmpty()) {
+            return;
+        }
+        long startTime = GenerationStatistics.start();
+        List<PsiMember> sorted = new ArrayList<PsiMember>(members);
+        Collections.sort(sorted, new Comparator<PsiMember>() {
+            public int compare(PsiMember o1, PsiMember o2) {
+                return o1.getTextRange().getStartOffset() - o2.getTextRange().getStartOffset();
+            }
+        });
+
+        // the ranges of the runs, the members of a run are only separated by white space
+        List<TextRange> ranges = new ArrayList<TextRange>();
+        PsiMember previous = null;
+        for (PsiMember member : sorted) {
+            TextRange range = member.getTextRange();
+            if (previous != null && PsiTreeUtil.skipSiblingsBackward(member, PsiWhiteSpace.class) == previous) {
+                range = ranges.remove(ranges.size() - 1).union(range);
+            }
+            ranges.add(range);
+            previous = member;
+        }
+
+        // from the bottom up, so reformatting a range does not move the ranges still to reformat
+        for (int i = ranges.size() - 1; i >= 0; i--) {
+            codeStyleManager.reformatRange(clazz, ranges.get(i).getStartOffset(), ranges.get(i).getEndOffset());
+        }
+        GenerationStatistics.stop(GenerationPhase.REFORMAT, startTime, members.size());
+    }
+
     /**
      * Filters the list of fields from the class with the given parameters from the {@link
      * org.intellij.idea.plugin.genprop.config.Config config} settings.
@@ -342,27 +527,19 @@ public abstract class AbstractGenerateActionHandler
      * @param pattern the filter pattern to filter out unwanted fields
      * @return fields avaiable for this action after the filter process.
      */
-    private PsiField[] filterAvailableFields(PsiClass clazz, FilterPattern pattern) {
+    PsiField[] filterAvailableFields(PsiClass clazz, FilterPattern pattern) {
         if (log.isDebugEnabled()) {
             log.debug("Filtering fields using the pattern: " + pattern);
         }
-        List<PsiField> availableFields = new ArrayList<PsiField>();
-
-        // performs til filtering process
-        PsiField[] fields = psi.getFields(clazz);
-        for (PsiField field : fields) {
-            FieldElement fe = ElementFactory.newFieldElement(field, elementFactory, psi);
-            if (log.isDebugEnabled()) {
-                log.debug("Field being filtered: " + fe);
-            }
-
-            // if the field matches the pattern then it shouldn't be in the list of avaialble fields
-            if (!fe.applyFilter(pattern)) {
-                availableFields.add(field);
-            }
+        long start = GenerationStatistics.start();
+        PsiSourceClass source = getSourceClass(clazz);
+        List<SourceField> fields = getPipeline().filterFields(source, pattern);
+        PsiField[] availableFields = new PsiField[fields.size()];
+        for (int i = 0; i < availableFields.length; i++) {
+            availableFields[i] = ((PsiSourceField) fields.get(i)).getPsiField();
         }
-
-        return availableFields.toArray(new PsiField[availableFields.size()]);
+        GenerationStatistics.stop(GenerationPhase.FILTER, start, source.getFields().size());
+        return availableFields;
     }
 
     /**
@@ -377,50 +554,15 @@ public abstract class AbstractGenerateActionHandler
         if (log.isDebugEnabled()) {
             log.debug("Filtering methods using the pattern: " + pattern);
         }
-        List<PsiMethod> availableMethods = new ArrayList<PsiMethod>();
-
-        PsiMethod[] methods = psi.getMethods(clazz);
-        for (PsiMethod method : methods) {
-            MethodElement me = ElementFactory.newMethodElement(method, elementFactory, psi);
-            if (log.isDebugEnabled()) {
-                log.debug("Method being filtered: " + me);
-            }
-
-            // the method should be a getter
-            if (!me.isGetter()) {
-                continue;
-            }
-
-            // must not return void
-            if (me.isReturnTypeVoid()) {
-                continue;
-            }
-
-            // method should be public, non static, non abstract
-            if (!me.isModifierPublic() || me.isModifierStatic() || me.isModifierAbstract()) {
-                continue;
-            }
-
-            // method should not be a getter for an existing field
-            if (psi.findFieldByName(clazz, me.getFieldName()) != null) {
-                continue;
-            }
-
-            // must not be named toString or getClass
-            if ("toString".equals(me.getMethodName()) || "getClass".equals(me.getMethodName())) {
-                continue;
-            }
-
-            // if the method matches the pattern then it shouldn't be in the list of avaialble methods
-            if (!me.applyFilter(pattern)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Adding the method " + method.getName() + " as there is not a field for this getter");
-                }
-                availableMethods.add(method);
-            }
+        long start = GenerationStatistics.start();
+        PsiSourceClass source = getSourceClass(clazz);
+        List<SourceMethod> methods = getPipeline().filterMethods(source, pattern);
+        PsiMethod[] availableMethods = new PsiMethod[methods.size()];
+        for (int i = 0; i < availableMethods.length; i++) {
+            availableMethods[i] = ((PsiSourceMethod) methods.get(i)).getPsiMethod();
         }
-
-        return availableMethods.toArray(new PsiMethod[availableMethods.size()]);
+        GenerationStatistics.stop(GenerationPhase.FILTER, start, source.getMethods().size());
+        return availableMethods;
     }
 
     protected Editor getEditor() {
@@ -455,4 +597,37 @@ public abstract class AbstractGenerateActionHandler
     protected PsiJavaFile getJavaFile() {
         return javaFile;
     }
+
+    /**
+     * Get's the index of the members of the class the action is executed on.
+     *
+     * @return the member index, members added by the action must be registered in it.
+     */
+    protected MemberIndex getMemberIndex() {
+        return memberIndex;
+    }
+
+    /**
+     * Get's the source model of the class, backed by the member index of the action.
+     *
+     * @param clazz the class.
+     * @return the source model of the class.
+     */
+    protected PsiSourceClass getSourceClass(PsiClass clazz) {
+        if (sourceClass == null || sourceClass.getPsiClass() != clazz) {
+            memberIndex = new MemberIndex(clazz);
+            sourceClass = new PsiSourceClass(memberIndex, elementFactory, psi);
+        }
+        return sourceClass;
+    }
+
+    /**
+     * The members found in the background for the member chooser dialog.
+     */
+    private static class Members {
+        private PsiField[] fields;
+        private PsiMethod[] methods;
+        private boolean useDialog;
+        private List<PsiElement> preselected;
+    }
 }
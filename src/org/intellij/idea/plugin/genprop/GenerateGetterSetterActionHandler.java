@@ -1,21 +1,30 @@
 package org.intellij.idea.plugin.genprop;
 
+import com.intellij.openapi.ui.Messages;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocCommentOwner;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMember;
 import com.intellij.psi.PsiMethod;
 import com.intellij.util.IncorrectOperationException;
 import org.apache.log4j.Logger;
+import org.intellij.idea.plugin.genprop.config.CancelPolicy;
 import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
 import org.intellij.idea.plugin.genprop.config.DuplicatePolicy;
+import org.intellij.idea.plugin.genprop.config.ReplacePolicy;
 import org.intellij.idea.plugin.genprop.element.FieldElement;
 import org.intellij.idea.plugin.genprop.exception.GenerateCodeException;
-import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.intellij.idea.plugin.genprop.model.AccessorPipeline;
+import org.intellij.idea.plugin.genprop.psi.PsiSourceClass;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
 import org.intellij.idea.plugin.genprop.view.MethodExistsDialog;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +38,13 @@ public class GenerateGetterSetterActionHandler
         extends AbstractGenerateActionHandler {
     private static final Logger log = Logger.getLogger(GenerateGetterSetterActionHandler.class);
 
+    private final AccessorPipeline pipeline = new AccessorPipeline();
+
+    @Override
+    protected AccessorPipeline getPipeline() {
+        return pipeline;
+    }
+
     /**
      * This method get's the choise if there is an existing {@code toString} method. <br/> 1) If there is a settings to
      * always override use this. <br/> 2) Prompt a dialog and let the user decide.
@@ -39,17 +55,21 @@ public class GenerateGetterSetterActionHandler
     @Override
     protected ConflictResolutionPolicy existsMethodDialog(PsiClass clazz,
                                                           Collection<? extends PsiElement> selectedMembers) {
-        boolean exists = false;
-        for (PsiElement member : selectedMembers) {
-            if (member instanceof PsiMethod) {
-                PsiMethod field = (PsiMethod) member;
-                if (getPsi().findMethodByName(clazz, StringUtil.generateSetterName(field.getName())) != null) {
-                    exists = true;
-                    break;
-                }
-            }
+        configurePipeline(clazz);
+        PsiSourceClass source = getSourceClass(clazz);
+        String dispatcherConflict = pipeline.dispatcherConflict(source);
+        if (dispatcherConflict != null) {
+            return refuse("The class already has " + dispatcherConflict + " but not the listener dispatcher, which " +
+                    "is generated as a whole.\nTurn off the listener dispatcher in the settings or remove the " +
+                    "listener plumbing of the class.");
         }
-        if (exists) {
+        String dirtyConflict = pipeline.dirtyConflict(source);
+        if (dirtyConflict != null) {
+            return refuse("The class already has its own " + dirtyConflict + ", which the dirty tracking would " +
+                    "replace.\nTurn off the dirty tracking in the settings or rename the member.");
+        }
+
+        if (hasConflicts(clazz, selectedMembers)) {
             ConflictResolutionPolicy def = getConfig().getReplaceDialogInitialOption();
             // is always use default set in config?
             if (getConfig().isUseDefaultAlways()) {
@@ -83,96 +103,123 @@ public class GenerateGetterSetterActionHandler
                                       ConflictResolutionPolicy policy,
                                       Map params)
             throws IncorrectOperationException, GenerateCodeException {
-        // generate code using velocity
         List<FieldElement> fields = getOnlyAsFieldElements(selectedMembers);
         if (log.isDebugEnabled()) {
             log.debug("The fields are " + fields);
         }
-        for (FieldElement fieldElement : fields) {
-            String propName = StringUtil.generatePropertyConstantName(fieldElement.getName());
-            //noinspection UnnecessaryCodeBlock
-            {
-                String methodName;
-                if (fieldElement.isBoolean()) {
-                    methodName = StringUtil.generateGetterNameBoolean(fieldElement.getName());
-                } else {
-                    methodName = StringUtil.generateGetterNameGeneral(fieldElement.getName());
-                }
-                String declaration = MessageFormat.format(
-                        "public {1} {0}() '{'\n" +
-                                "return {2};\n" +
-                                "'}'"
-                        , methodName, fieldElement.getTypePresentableText(), fieldElement.getName());
-                if (createMethod(clazz, policy, params, fieldElement, methodName, declaration)) {
-                    return;
-                }
-            }
-            //noinspection UnnecessaryCodeBlock
-            {
-                String methodName = StringUtil.generateSetterName(fieldElement.getName());
-                String declaration = MessageFormat.format(
-                        "public void {0}({1} {2}) '{'\n" +
-                                "Object old = this.{2};\n" +
-                                "this.{2} = {2};\n" +
-                                "firePropertyChange({3}, old, {2});\n'}'"
-                        , methodName, fieldElement.getTypePresentableText(), fieldElement.getName(),
-                        propName);
-                if (createMethod(clazz, policy, params, fieldElement, methodName, declaration)) {
-                    return;
-                }
-            }
+        if (fields.isEmpty()) {
+            return;
         }
 
-        // return the created fields
+        // build the getters and setters of all the fields, followed by the listener plumbing the class is missing;
+        // the members derived from all the properties go first as they are replaced
+        configurePipeline(clazz);
+        PsiSourceClass source = getSourceClass(clazz);
+        List<String> replaced = pipeline.replacedDeclarations(source, fields);
+        List<String> staleIndexes = pipeline.staleIndexNames(source, fields);
+        StringBuilder declarations = new StringBuilder();
+        for (String declaration : replaced) {
+            declarations.append(declaration).append('\n');
+        }
+        declarations.append(pipeline.declarationText(fields));
+        for (String declaration : pipeline.supportDeclarations(source, fields)) {
+            declarations.append(declaration).append('\n');
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating members are: " + declarations);
+        }
 
-    }
+        // parse all the members at once, they end up as siblings in a holder class
+        long start = GenerationStatistics.start();
+        PsiClass holder = getElementFactory().createClassFromText(declarations.toString(), null);
+        List<PsiDocCommentOwner> members = new ArrayList<PsiDocCommentOwner>();
+        for (PsiElement child = holder.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof PsiDocCommentOwner) {
+                members.add((PsiDocCommentOwner) child);
+            }
+        }
+        PsiDocCommentOwner[] newMembers = members.toArray(new PsiDocCommentOwner[members.size()]);
+        GenerationStatistics.stop(GenerationPhase.PSI_CREATION, start, newMembers.length);
 
-    private boolean createMethod(PsiClass clazz,
-                                 ConflictResolutionPolicy policy,
-                                 Map params,
-                                 FieldElement fieldElement,
-                                 String methodName, String declaration) {
+        // the javadocs by member name
+        Map<String, String> javaDocs = new HashMap<String, String>();
+        for (FieldElement fieldElement : fields) {
+            pipeline.addJavaDocTexts(fieldElement, javaDocs);
+        }
+        PsiMember[] existingMembers = new PsiMember[newMembers.length];
+        String[] newJavaDocs = new String[newMembers.length];
+        for (int i = 0; i < newMembers.length; i++) {
+            String name = newMembers[i].getName();
+            if (newMembers[i] instanceof PsiField) {
+                existingMembers[i] = getMemberIndex().findFieldByName(name);
+            } else if (i < replaced.size()) {
+                // only the generated method of the signature is replaced, not a user method of the name
+                existingMembers[i] = clazz.findMethodBySignature((PsiMethod) newMembers[i], false);
+            } else {
+                existingMembers[i] = getMemberIndex().findMethodByName(name);
+            }
+            newJavaDocs[i] = javaDocs.containsKey(name) ? javaDocs.get(name) : pipeline.supportJavaDocText(name);
+        }
 
-        if (log.isDebugEnabled()) {
-            log.debug("Creating method: " + declaration);
+        // applyJavaDocs and applyMembers conflict resolution policy (add/replace, duplicate, cancel)
+        String existingJavaDoc = (String) params.get("existingJavaDoc");
+        start = GenerationStatistics.start();
+        policy.applyJavaDocs(clazz, newMembers, getElementFactory(), existingJavaDoc, newJavaDocs);
+        GenerationStatistics.stop(GenerationPhase.JAVADOC, start, newMembers.length);
+        start = GenerationStatistics.start();
+        int first = replaced.size();
+        List<PsiMember> appliedMembers = policy.applyMembers(getEditor(), clazz,
+                Arrays.copyOfRange(existingMembers, first, existingMembers.length),
+                Arrays.copyOfRange(newMembers, first, newMembers.length));
+        if (appliedMembers == null) {
+            GenerationStatistics.stop(GenerationPhase.INSERTION, start, newMembers.length);
+            return; // user cancelled
+        }
+        if (first > 0) {
+            // the members must cover all the properties, so they always replace the existing members; only applied
+            // once the policy has, so nothing is written if the user cancels
+            appliedMembers.addAll(ReplacePolicy.getInstance().applyMembers(getEditor(), clazz,
+                    Arrays.copyOfRange(existingMembers, 0, first), Arrays.copyOfRange(newMembers, 0, first)));
         }
+        GenerationStatistics.stop(GenerationPhase.INSERTION, start, newMembers.length);
 
+        getMemberIndex().addAll(appliedMembers);
 
-        // applyField conflict resolution policy (add/replace, duplicate, cancel)
-        PsiMethod existingMethod = getPsi().findMethodByName(clazz, methodName);
-        PsiMethod newMethod = getElementFactory().createMethodFromText(declaration, null);
-        boolean operationExecuted = policy.applyMethod(
-                getEditor(),
-                clazz, existingMethod, newMethod);
-        if (existingMethod != null && !operationExecuted) {
-            //noinspection ReturnOfNull
-            return true;
+        // the indexes of the properties no longer declared
+        for (String name : staleIndexes) {
+            PsiField stale = getMemberIndex().findFieldByName(name);
+            if (stale != null) {
+                stale.delete();
+            }
         }
 
-        String existingJavaDoc = (String) params.get("existingJavaDoc");
-        String newJavaDoc = "/** Property bound setter for {@code " + fieldElement.getName() + "}. */";
-        PsiMethod propertyNameField = getPsi().findMethodByName(
-                clazz,
-                methodName); // must find again to be able to add javadoc (IDEA does not add if using method parameter)
-        policy.applyJavaDoc(
-                clazz, propertyNameField,
-                getCodeStyleManager(), getElementFactory(), existingJavaDoc, newJavaDoc);
+        if (pipeline.isEqualityCheck() || pipeline.isChangeSupport() || pipeline.isAtomicSetters()
+                || pipeline.isDirtyTracking()) {
+            // the generated code uses qualified class names
+            for (PsiMember appliedMember : appliedMembers) {
+                getPsi().shortenClassReferences(getProject(), appliedMember);
+            }
+        }
 
         // reformat code style
-        getCodeStyleManager().reformat(newMethod);
-        return false;
+        reformatMembers(clazz, appliedMembers);
     }
 
+    private ConflictResolutionPolicy refuse(String message) {
+        Messages.showMessageDialog(getProject(), message, "Warning", Messages.getWarningIcon());
+        return CancelPolicy.getInstance();
+    }
 
-    @Override
-    protected List<PsiElement> preselect(PsiClass clazz, PsiField... filteredFields) {
-        List<PsiElement> preselected = new ArrayList<PsiElement>();
-        for (PsiField psiField : filteredFields) {
-            if (getPsi().findAllMethodByName(clazz, StringUtil.generateSetterName(psiField.getName())) ==
-                    null) {
-                preselected.add(psiField);
-            }
-        }
-        return preselected;
+    private void configurePipeline(PsiClass clazz) {
+        pipeline.setPrimitiveSetters(getConfig().isPrimitiveSetters());
+        pipeline.setEqualityCheck(getConfig().isSetterEqualityCheck());
+        pipeline.setIdentityCheck(getConfig().isSetterIdentityCheck());
+        pipeline.setChangeSupport(getConfig().isGenerateChangeSupport());
+        pipeline.setDispatcher(getConfig().isListenerDispatcher());
+        pipeline.setAtomicSetters(getConfig().isAtomicSetters());
+        pipeline.setVarHandles(getConfig().isVarHandles());
+        pipeline.setDirtyTracking(getConfig().isDirtyTracking());
+        pipeline.setDirtyOnly(getConfig().isDirtyOnly());
+        pipeline.setClassName(clazz.getName());
     }
 }
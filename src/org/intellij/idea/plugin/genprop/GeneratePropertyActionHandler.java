@@ -3,17 +3,23 @@ package org.intellij.idea.plugin.genprop;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMember;
 import com.intellij.util.IncorrectOperationException;
 import org.apache.log4j.Logger;
 import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
 import org.intellij.idea.plugin.genprop.config.DuplicatePolicy;
+import org.intellij.idea.plugin.genprop.config.ReplacePolicy;
 import org.intellij.idea.plugin.genprop.element.FieldElement;
 import org.intellij.idea.plugin.genprop.exception.GenerateCodeException;
-import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.intellij.idea.plugin.genprop.model.PropertyConstantPipeline;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
 import org.intellij.idea.plugin.genprop.view.MethodExistsDialog;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The action-handler that does the code generation.
@@ -25,10 +31,17 @@ public class GeneratePropertyActionHandler
         extends AbstractGenerateActionHandler {
     private static final Logger log = Logger.getLogger(GeneratePropertyActionHandler.class);
 
+    private final PropertyConstantPipeline pipeline = new PropertyConstantPipeline();
+
     public GeneratePropertyActionHandler() {
         super();
     }
 
+    @Override
+    protected PropertyConstantPipeline getPipeline() {
+        return pipeline;
+    }
+
     /**
      * This method get's the choise if there is an existing {@code toString} method. <br/> 1) If there is a settings to
      * always override use this. <br/> 2) Prompt a dialog and let the user decide.
@@ -39,17 +52,7 @@ public class GeneratePropertyActionHandler
     @Override
     protected ConflictResolutionPolicy existsMethodDialog(PsiClass clazz,
                                                           Collection<? extends PsiElement> selectedMembers) {
-        boolean exists = false;
-        for (PsiElement member : selectedMembers) {
-            if (member instanceof PsiField) {
-                PsiField field = (PsiField) member;
-                if (getPsi().findFieldByName(clazz, StringUtil.generatePropertyConstantName(field.getName())) != null) {
-                    exists = true;
-                    break;
-                }
-            }
-        }
-        if (exists) {
+        if (hasConflicts(clazz, selectedMembers)) {
             ConflictResolutionPolicy def = getConfig().getReplaceDialogInitialOption();
             // is always use default set in config?
             if (getConfig().isUseDefaultAlways()) {
@@ -65,72 +68,86 @@ public class GeneratePropertyActionHandler
     }
 
     /**
-     * Creates the property constant fields.
+     * Creates the property constant fields. <p/> The fields are parsed at once, inserted into the class as one batch
+     * and reformatted in a single pass. The nested property enum, if enabled, always replaces the existing enum.
      *
      * @param clazz           the PsiClass object.
      * @param selectedMembers the selected members as both {@link com.intellij.psi.PsiField} and {@link
      *                        com.intellij.psi.PsiMethod}.
      * @param policy          conflict resolution policy
      * @param params          additional parameters stored with key/value in the map.
-     * @return the created method, null if the method is not created due the user cancels this operation
      * @throws GenerateCodeException is thrown when there is an error generating the javacode.
      */
     @Override
-    @Nullable
     protected void doCreateFromFields(PsiClass clazz,
                                       Collection<? extends PsiElement> selectedMembers,
                                       ConflictResolutionPolicy policy,
                                       Map params)
             throws IncorrectOperationException, GenerateCodeException {
-        // generate code using velocity
-        List<PsiField> newFields = new LinkedList<PsiField>();
         List<FieldElement> fields = getOnlyAsFieldElements(selectedMembers);
         if (log.isDebugEnabled()) {
             log.debug("The fields are " + fields);
         }
-        for (FieldElement fieldElement : fields) {
-            String fieldName = StringUtil.generatePropertyConstantName(fieldElement.getName());
-            String declaration = "public static final String " +
-                    fieldName + " = \"" + fieldElement.getName() + "\";";
-            if (log.isDebugEnabled()) {
-                log.debug("Creating field is: " + declaration);
-            }
+        if (fields.isEmpty()) {
+            return;
+        }
 
+        // build the declarations of all the constant fields, followed by the property enum
+        pipeline.setPropertyEnum(getConfig().isPropertyEnum());
+        String declarations = pipeline.declarationText(fields);
+        String propertyEnum = pipeline.enumDeclaration(getSourceClass(clazz), fields);
+        if (propertyEnum != null) {
+            declarations += propertyEnum;
+        }
+        PsiField[] existingFields = new PsiField[fields.size()];
+        String[] newJavaDocs = new String[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            FieldElement fieldElement = fields.get(i);
+            existingFields[i] = getMemberIndex().findFieldByName(pipeline.constantName(fieldElement));
+            newJavaDocs[i] = pipeline.javaDocText(fieldElement);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating fields are: " + declarations);
+        }
 
-            // applyField conflict resolution policy (add/replace, duplicate, cancel)
-            PsiField existingField = getPsi().findFieldByName(clazz, fieldName);
-            PsiField newField = getElementFactory().createFieldFromText(declaration, null);
-            boolean operationExecuted = policy.applyField(
-                    getEditor(),
-                    clazz, existingField, newField);
-            if (existingField != null && !operationExecuted) {
-                //noinspection ReturnOfNull
-                return; // user cancelled so return null
-            }
+        // parse all the fields at once, they end up as siblings in a holder class
+        long start = GenerationStatistics.start();
+        PsiClass holder = getElementFactory().createClassFromText(declarations, null);
+        PsiField[] newFields = holder.getFields();
+        GenerationStatistics.stop(GenerationPhase.PSI_CREATION, start, newFields.length);
 
-            String existingJavaDoc = (String) params.get("existingJavaDoc");
-            String newJavaDoc = "/** Property name constant for {@code " + fieldElement.getName() + "}. */";
-            PsiField propertyNameField = getPsi().findFieldByName(
-                    clazz,
-                    fieldName); // must find again to be able to add javadoc (IDEA does not add if using method parameter)
-            policy.applyJavaDoc(
-                    clazz, propertyNameField,
-                    getCodeStyleManager(), getElementFactory(), existingJavaDoc, newJavaDoc);
-
-            // reformat code style
-            getCodeStyleManager().reformat(newField);
-            newFields.add(newField);
+        // applyJavaDocs and applyMembers conflict resolution policy (add/replace, duplicate, cancel)
+        String existingJavaDoc = (String) params.get("existingJavaDoc");
+        start = GenerationStatistics.start();
+        policy.applyJavaDocs(clazz, newFields, getElementFactory(), existingJavaDoc, newJavaDocs);
+        GenerationStatistics.stop(GenerationPhase.JAVADOC, start, newFields.length);
+        start = GenerationStatistics.start();
+        List<PsiMember> applied = policy.applyMembers(getEditor(), clazz, existingFields, newFields);
+        GenerationStatistics.stop(GenerationPhase.INSERTION, start, newFields.length);
+        if (applied == null) {
+            return; // user cancelled
         }
-    }
+        List<PsiMember> appliedFields = new ArrayList<PsiMember>(applied);
+
+        if (propertyEnum != null) {
+            // the enum must list all the properties, so it always replaces the existing enum
+            PsiClass[] newEnum = holder.getInnerClasses();
+            PsiClass[] existingEnum = {clazz.findInnerClassByName(PropertyConstantPipeline.ENUM_CLASS, false)};
+            ReplacePolicy.getInstance().applyJavaDocs(clazz, newEnum, getElementFactory(), null,
+                    new String[]{pipeline.enumJavaDocText()});
+            List<PsiMember> appliedEnum = ReplacePolicy.getInstance().applyMembers(
+                    getEditor(), clazz, existingEnum, newEnum);
+            appliedFields.addAll(appliedEnum);
 
-    protected List<PsiElement> preselect(PsiClass clazz, PsiField[] filteredFields) {
-        List<PsiElement> preselected = new ArrayList<PsiElement>();
-        for (PsiField psiField : filteredFields) {
-            if (getPsi().findAllFieldByName(clazz, StringUtil.generatePropertyConstantName(psiField.getName())) ==
-                    null) {
-                preselected.add(psiField);
+            // the bound of a type variable is qualified
+            for (PsiMember member : appliedEnum) {
+                getPsi().shortenClassReferences(getProject(), member);
             }
         }
-        return preselected;
+
+        getMemberIndex().addAll(appliedFields);
+
+        // reformat code style
+        reformatMembers(clazz, appliedFields);
     }
 }
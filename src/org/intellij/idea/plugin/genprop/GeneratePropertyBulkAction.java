@@ -0,0 +1,363 @@
+package org.intellij.idea.plugin.genprop;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.analysis.BaseAnalysisAction;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.util.IncorrectOperationException;
+import com.intellij.util.Processor;
+import org.apache.log4j.Logger;
+import org.intellij.idea.plugin.genprop.config.CancelPolicy;
+import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
+import org.intellij.idea.plugin.genprop.config.DuplicatePolicy;
+import org.intellij.idea.plugin.genprop.config.ReplacePolicy;
+import org.intellij.idea.plugin.genprop.exception.GenerateCodeException;
+import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The IDEA action for generating property name constants in all the classes of a package, a module or any other scope.
+ * <p/> The classes are analysed in a background read action that can be cancelled from the progress indicator. The
+ * constants are then generated in batches of classes, each batch in its own write command, so IDEA stays responsive
+ * and a batch can be undone on its own. <p/> The fields are filtered using the settings and existing constants are
+ * resolved using the default conflict resolution policy of the settings, as no dialogs are shown for each class.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class GeneratePropertyBulkAction
+        extends BaseAnalysisAction {
+
+    private static final Logger log = Logger.getLogger(GeneratePropertyBulkAction.class);
+
+    /** Number of classes to generate the constants for in one write command. */
+    private static final int BATCH_SIZE = 20;
+
+    /** Max number of classes listed in the result dialog, the result of all the classes is logged. */
+    private static final int MAX_REPORTED_CLASSES = 30;
+
+    /**
+     * Constructor.
+     */
+    public GeneratePropertyBulkAction() {
+        super("Generate Property Name Constants", "Generation");
+    }
+
+    @Override
+    protected void analyze(@NotNull final Project project, @NotNull final AnalysisScope scope) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Generating property name constants", true) {
+            private final List<ClassPlan> plans = new ArrayList<ClassPlan>();
+
+            public void run(@NotNull ProgressIndicator indicator) {
+                GeneratePropertyActionHandler handler = new GeneratePropertyActionHandler();
+                analyzeScope(project, scope, handler, indicator, plans);
+                generate(project, handler, indicator, plans);
+            }
+
+            @Override
+            public void onSuccess() {
+                showResults(project, plans, false);
+            }
+
+            @Override
+            public void onCancel() {
+                showResults(project, plans, true);
+            }
+        });
+    }
+
+    /**
+     * Finds the classes in the scope and plans which constants to generate for each class.
+     */
+    private void analyzeScope(final Project project,
+                              AnalysisScope scope,
+                              final GeneratePropertyActionHandler handler,
+                              final ProgressIndicator indicator,
+                              final List<ClassPlan> plans) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Finding java files");
+        final List<VirtualFile> files = new ArrayList<VirtualFile>();
+        scope.accept(new Processor<VirtualFile>() {
+            public boolean process(VirtualFile file) {
+                indicator.checkCanceled();
+                if (file.getFileType() == StdFileTypes.JAVA) {
+                    files.add(file);
+                }
+                return true;
+            }
+        });
+
+        indicator.setIndeterminate(false);
+        indicator.setText("Analysing classes");
+        final PsiManager manager = GeneratePropertyNameContext.getPsi().getPsiManager(project);
+        for (int i = 0; i < files.size(); i++) {
+            indicator.checkCanceled();
+            final VirtualFile file = files.get(i);
+            indicator.setFraction(0.5 * i / files.size()); // analysing is the first half of the work
+            indicator.setText2(file.getPresentableUrl());
+
+            // one short read action for each file so write actions are not blocked while analysing
+            ApplicationManager.getApplication().runReadAction(new Runnable() {
+                public void run() {
+                    PsiFile psiFile = manager.findFile(file);
+                    if (psiFile instanceof PsiJavaFile) {
+                        for (PsiClass clazz : ((PsiJavaFile) psiFile).getClasses()) {
+                            analyzeClass(project, handler, clazz, plans);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Plans the constants of the class and its inner classes. <p/> Classes having all their constants already are
+     * up to date. Otherwise the missing constants are generated, and if some constants already exist in the class the
+     * default conflict resolution policy decides: replace regenerates them too, duplicate leaves them as they are and
+     * cancel skips the class.
+     */
+    private void analyzeClass(Project project,
+                              GeneratePropertyActionHandler handler,
+                              PsiClass clazz,
+                              List<ClassPlan> plans) {
+        if (!clazz.isInterface()) {
+            handler.prepare(project, clazz);
+            PsiField[] filteredFields = handler.filterAvailableFields(clazz, handler.getConfig().getFilterPattern());
+            List<PsiElement> missing = handler.preselect(clazz, filteredFields);
+
+            ClassPlan plan = new ClassPlan(clazz);
+            if (missing.isEmpty()) {
+                plan.status = Status.UP_TO_DATE;
+            } else {
+                List<PsiField> existing = new ArrayList<PsiField>();
+                for (PsiField field : filteredFields) {
+                    String name = StringUtil.generatePropertyConstantName(field.getName());
+                    if (handler.getMemberIndex().findFieldByName(name) != null) {
+                        existing.add(field);
+                    }
+                }
+
+                // no dialogs for each class so use the default policy if there is a conflict
+                ConflictResolutionPolicy policy = existing.isEmpty()
+                        ? DuplicatePolicy.getInstance()
+                        : handler.getConfig().getReplaceDialogInitialOption();
+                if (policy instanceof CancelPolicy) {
+                    plan.status = Status.SKIPPED;
+                    plan.message = existing.size() + " constants exist";
+                } else {
+                    SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+                    List<PsiField> fields = new ArrayList<PsiField>(missing.size() + existing.size());
+                    for (PsiElement element : missing) {
+                        fields.add((PsiField) element);
+                    }
+                    if (policy instanceof ReplacePolicy) {
+                        fields.addAll(existing);
+                    }
+                    for (PsiField field : fields) {
+                        plan.fields.add(pointerManager.createSmartPsiElementPointer(field));
+                    }
+                    plan.classPointer = pointerManager.createSmartPsiElementPointer(clazz);
+                    plan.policy = policy;
+                    plan.status = Status.PLANNED;
+                }
+            }
+            plans.add(plan);
+        }
+
+        for (PsiClass innerClass : clazz.getInnerClasses()) {
+            analyzeClass(project, handler, innerClass, plans);
+        }
+    }
+
+    /**
+     * Generates the planned constants in batches of write commands.
+     */
+    private void generate(final Project project,
+                          final GeneratePropertyActionHandler handler,
+                          ProgressIndicator indicator,
+                          List<ClassPlan> plans) {
+        List<ClassPlan> pending = new ArrayList<ClassPlan>();
+        for (ClassPlan plan : plans) {
+            if (plan.status == Status.PLANNED) {
+                pending.add(plan);
+            }
+        }
+
+        indicator.setText("Generating property name constants");
+        final PsiAdapter psi = GeneratePropertyNameContext.getPsi();
+        for (int i = 0; i < pending.size(); i += BATCH_SIZE) {
+            indicator.checkCanceled();
+            indicator.setFraction(0.5 + 0.5 * i / pending.size());
+            final List<ClassPlan> batch = pending.subList(i, Math.min(i + BATCH_SIZE, pending.size()));
+            indicator.setText2(batch.get(0).className);
+
+            ApplicationManager.getApplication().invokeAndWait(new Runnable() {
+                public void run() {
+                    psi.executeCommand(project, new Runnable() {
+                        public void run() {
+                            ApplicationManager.getApplication().runWriteAction(new Runnable() {
+                                public void run() {
+                                    for (ClassPlan plan : batch) {
+                                        generateClass(project, handler, plan);
+                                    }
+                                }
+                            });
+                        }
+                    });
+                }
+            }, ModalityState.defaultModalityState());
+        }
+    }
+
+    /**
+     * Generates the planned constants of a class, must be called in a write action. <p/> The constants are looked up
+     * again in the current class, as constants may have been added since the class was analysed: unless the planned
+     * policy replaces them, the default conflict resolution policy decides on these constants as when analysing.
+     */
+    private void generateClass(Project project, GeneratePropertyActionHandler handler, ClassPlan plan) {
+        // the class may have been changed or deleted since it was analysed
+        PsiClass clazz = plan.classPointer.getElement();
+        List<PsiField> fields = new ArrayList<PsiField>(plan.fields.size());
+        for (SmartPsiElementPointer<PsiField> pointer : plan.fields) {
+            PsiField field = pointer.getElement();
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        if (clazz == null || fields.size() != plan.fields.size()) {
+            plan.status = Status.SKIPPED;
+            plan.message = "class changed while analysing";
+            return;
+        }
+
+        handler.prepare(project, clazz);
+        ConflictResolutionPolicy policy = plan.policy;
+        List<PsiElement> missing = handler.preselect(clazz, fields.toArray(new PsiField[fields.size()]));
+        if (!(policy instanceof ReplacePolicy) && missing.size() < fields.size()) {
+            policy = handler.getConfig().getReplaceDialogInitialOption();
+            if (policy instanceof CancelPolicy) {
+                plan.status = Status.SKIPPED;
+                plan.message = (fields.size() - missing.size()) + " constants added while analysing";
+                return;
+            }
+            if (!(policy instanceof ReplacePolicy)) {
+                // keep the added constants as they are
+                fields.clear();
+                for (PsiElement element : missing) {
+                    fields.add((PsiField) element);
+                }
+            }
+        }
+        if (fields.isEmpty()) {
+            plan.status = Status.UP_TO_DATE;
+            return;
+        }
+
+        try {
+            handler.doCreateFromFields(clazz, fields, policy, new HashMap());
+            plan.status = Status.GENERATED;
+            plan.message = fields.size() + " constants";
+        } catch (IncorrectOperationException e) {
+            log.error("Error generating property name constants in " + plan.className, e);
+            plan.status = Status.FAILED;
+            plan.message = e.getMessage();
+        } catch (GenerateCodeException e) {
+            log.error("Error generating property name constants in " + plan.className, e);
+            plan.status = Status.FAILED;
+            plan.message = e.getMessage();
+        }
+    }
+
+    /**
+     * Shows the number of classes for each status and lists the changed, skipped and failed classes.
+     */
+    private void showResults(Project project, List<ClassPlan> plans, boolean cancelled) {
+        int[] counts = new int[Status.values().length];
+        StringBuilder classes = new StringBuilder();
+        int reported = 0;
+        for (ClassPlan plan : plans) {
+            counts[plan.status.ordinal()]++;
+            if (plan.status != Status.UP_TO_DATE) {
+                log.info(plan);
+            } else if (log.isDebugEnabled()) {
+                log.debug(plan);
+            }
+            if (plan.status != Status.UP_TO_DATE && reported++ < MAX_REPORTED_CLASSES) {
+                classes.append('\n').append(plan);
+            }
+        }
+        if (reported > MAX_REPORTED_CLASSES) {
+            classes.append("\n... and ").append(reported - MAX_REPORTED_CLASSES).append(" more classes (see log)");
+        }
+
+        StringBuilder message = new StringBuilder();
+        if (cancelled) {
+            message.append("Cancelled, the classes already generated are kept.\n");
+        }
+        message.append(plans.size()).append(" classes analysed");
+        for (Status status : Status.values()) {
+            if (counts[status.ordinal()] > 0) {
+                message.append(", ").append(counts[status.ordinal()]).append(' ').append(status.description);
+            }
+        }
+        message.append(classes);
+        Messages.showInfoMessage(project, message.toString(), "Generate Property Name Constants");
+    }
+
+    private enum Status {
+        UP_TO_DATE("up to date"),
+        PLANNED("not generated"),
+        GENERATED("generated"),
+        SKIPPED("skipped"),
+        FAILED("failed");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * The constants to generate for a class and the result. <p/> Pointers are used as the classes are changed between
+     * the analysis and the generation.
+     */
+    private static class ClassPlan {
+        private final String className;
+        private SmartPsiElementPointer<PsiClass> classPointer;
+        private final List<SmartPsiElementPointer<PsiField>> fields = new ArrayList<SmartPsiElementPointer<PsiField>>();
+        private ConflictResolutionPolicy policy;
+        private Status status;
+        private String message;
+
+        private ClassPlan(PsiClass clazz) {
+            className = clazz.getQualifiedName() != null ? clazz.getQualifiedName() : clazz.getName();
+        }
+
+        @Override
+        public String toString() {
+            return className + ": " + status.description + (message != null ? " (" + message + ")" : "");
+        }
+    }
+
+}
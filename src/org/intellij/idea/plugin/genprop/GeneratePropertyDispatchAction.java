@@ -0,0 +1,45 @@
+package org.intellij.idea.plugin.genprop;
+
+import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.actionSystem.Presentation;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.actionSystem.EditorAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
+
+/**
+ * The IDEA action for this plugin. <p/> This action handles the generation of the methods to get and set a property
+ * by name of the class.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class GeneratePropertyDispatchAction
+        extends EditorAction {
+    /**
+     * Constructor.
+     */
+    public GeneratePropertyDispatchAction() {
+        super(new GeneratePropertyDispatchActionHandler()); // register our action handler
+    }
+
+    /**
+     * Updates the presentation of this action. Will disable this action for non-java files.
+     *
+     * @param editor       IDEA editor.
+     * @param presentation Presentation.
+     * @param dataContext  data context.
+     */
+    @Override
+    public void update(Editor editor, Presentation presentation, DataContext dataContext) {
+        Project project = editor.getProject();
+        PsiAdapter psi = GeneratePropertyNameContext.getPsi();
+        PsiManager manager = psi.getPsiManager(project);
+        PsiJavaFile javaFile = psi.getSelectedJavaFile(project, manager);
+        presentation.setEnabled(javaFile != null && psi.getCurrentClass(javaFile, editor) != null);
+    }
+
+
+}
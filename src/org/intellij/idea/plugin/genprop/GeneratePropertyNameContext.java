@@ -2,6 +2,8 @@ package org.intellij.idea.plugin.genprop;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.psi.PsiElementFactory;
 import com.intellij.psi.PsiManager;
 import org.apache.log4j.Logger;
@@ -19,6 +21,7 @@ public class GeneratePropertyNameContext {
 
     private static Logger log = Logger.getLogger(GeneratePropertyNameContext.class);
     private static Config config;
+    private static final SimpleModificationTracker configModificationTracker = new SimpleModificationTracker();
     private static PsiAdapter psi;
     private static Project project;
     private static PsiManager manager;
@@ -38,6 +41,18 @@ public class GeneratePropertyNameContext {
 
     public static void setConfig(Config newConfig) {
         config = newConfig;
+        configModificationTracker.incModificationCount();
+    }
+
+    /**
+     * Get's the tracker that is modified each time the config is changed. <p/> Used as dependency of values cached
+     * using the config.
+     *
+     * @return the config modification tracker.
+     * @since 0.16
+     */
+    public static ModificationTracker getConfigModificationTracker() {
+        return configModificationTracker;
     }
 
     public static PsiAdapter getPsi() {
@@ -7,13 +7,16 @@ import com.intellij.openapi.util.InvalidDataException;
 import com.intellij.openapi.util.WriteExternalException;
 import org.apache.log4j.Logger;
 import org.intellij.idea.plugin.genprop.config.Config;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
 import org.intellij.idea.plugin.genprop.template.TemplateResourceLocator;
 import org.intellij.idea.plugin.genprop.view.ConfigUI;
+import org.intellij.idea.plugin.genprop.view.StatisticsUI;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.Icon;
 import javax.swing.JComponent;
+import javax.swing.JTabbedPane;
 
 /**
  * The IDEA component for this plugin.
@@ -26,6 +29,7 @@ public class GeneratePropertyPlugin
 	private static final Logger log = Logger.getLogger(GeneratePropertyPlugin.class);
 	private static final Class[] EMPTY_CLASSES = new Class[0];
 	private ConfigUI configUI;
+	private JTabbedPane component; // the settings and the statistics
 	private Config config = new Config();
 
 	@NotNull
@@ -56,8 +60,11 @@ public class GeneratePropertyPlugin
 	public JComponent createComponent() {
 		if (configUI == null) {
 			configUI = new ConfigUI(config);
+			component = new JTabbedPane();
+			component.addTab("Settings", configUI);
+			component.addTab("Statistics", new StatisticsUI());
 		}
-		return configUI;
+		return component;
 	}
 
 	public boolean isModified() {
@@ -68,6 +75,7 @@ public class GeneratePropertyPlugin
 			throws ConfigurationException {
 		config = configUI.getConfig();
 		GeneratePropertyNameContext.setConfig(config); // update context
+		GenerationStatistics.setEnabled(config.isRecordStatistics());
 
 		// update menus according the settings
 		if (config.isDisableActionInMenus()) {
@@ -88,6 +96,8 @@ public class GeneratePropertyPlugin
 	public void disposeUIResources() {
 		//noinspection AssignmentToNull
 		configUI = null;
+		//noinspection AssignmentToNull
+		component = null;
 	}
 
 	public Config getConfig() {
@@ -105,6 +115,7 @@ public class GeneratePropertyPlugin
 
 		// set config on context
 		GeneratePropertyNameContext.setConfig(config);
+		GenerationStatistics.setEnabled(config.isRecordStatistics());
 
 		if (log.isDebugEnabled()) {
 			log.debug("Config loaded at startup:\n" + config);
@@ -0,0 +1,153 @@
+package org.intellij.idea.plugin.genprop;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocCommentOwner;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.util.IncorrectOperationException;
+import org.apache.log4j.Logger;
+import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
+import org.intellij.idea.plugin.genprop.config.ReplacePolicy;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.exception.GenerateCodeException;
+import org.intellij.idea.plugin.genprop.model.PropertyTablePipeline;
+import org.intellij.idea.plugin.genprop.psi.PsiSourceClass;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The action-handler that generates the static property accessor table.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class GeneratePropertyTableActionHandler
+        extends AbstractGenerateActionHandler {
+    private static final Logger log = Logger.getLogger(GeneratePropertyTableActionHandler.class);
+
+    private final PropertyTablePipeline pipeline = new PropertyTablePipeline();
+
+    @Override
+    protected PropertyTablePipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * The table and the index constants are derived from all the properties, so they always replace the existing ones.
+     *
+     * @param clazz the class.
+     * @return the replace policy.
+     */
+    @Override
+    protected ConflictResolutionPolicy existsMethodDialog(PsiClass clazz,
+                                                          Collection<? extends PsiElement> selectedMembers) {
+        return ReplacePolicy.getInstance();
+    }
+
+    /**
+     * Creates the property accessor table with the index constants, and the property name constants, lookup method
+     * and accessor class the class is missing.
+     *
+     * @param clazz           the PsiClass object.
+     * @param selectedMembers the selected members as both {@link com.intellij.psi.PsiField} and {@link
+     *                        com.intellij.psi.PsiMethod}.
+     * @param policy          conflict resolution policy
+     * @param params          additional parameters stored with key/value in the map.
+     * @throws GenerateCodeException is thrown when there is an error generating the javacode.
+     */
+    @Override
+    protected void doCreateFromFields(PsiClass clazz,
+                                      Collection<? extends PsiElement> selectedMembers,
+                                      ConflictResolutionPolicy policy,
+                                      Map params)
+            throws IncorrectOperationException, GenerateCodeException {
+        List<FieldElement> fields = getOnlyAsFieldElements(selectedMembers);
+        if (log.isDebugEnabled()) {
+            log.debug("The fields are " + fields);
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        // build the missing name constants, the indexes, the table and the support members the class is missing
+        pipeline.setClassName(clazz.getName());
+        PsiSourceClass source = getSourceClass(clazz);
+        List<String> staleIndexes = pipeline.staleIndexNames(source, fields);
+        StringBuilder declarations = new StringBuilder();
+        declarations.append(pipeline.missingConstantsText(source, fields));
+        for (String declaration : pipeline.indexDeclarations(source, fields)) {
+            declarations.append(declaration).append('\n');
+        }
+        declarations.append(pipeline.tableDeclaration(source, fields)).append('\n');
+        boolean hasAccessorClass = clazz.findInnerClassByName(PropertyTablePipeline.ACCESSOR_CLASS, false) != null;
+        for (String declaration : pipeline.supportDeclarations(source, hasAccessorClass)) {
+            declarations.append(declaration).append('\n');
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating members are: " + declarations);
+        }
+
+        // parse all the members at once, they end up as siblings in a holder class
+        long start = GenerationStatistics.start();
+        PsiClass holder = getElementFactory().createClassFromText(declarations.toString(), null);
+        List<PsiDocCommentOwner> members = new ArrayList<PsiDocCommentOwner>();
+        for (PsiElement child = holder.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof PsiDocCommentOwner) {
+                members.add((PsiDocCommentOwner) child);
+            }
+        }
+        PsiDocCommentOwner[] newMembers = members.toArray(new PsiDocCommentOwner[members.size()]);
+        GenerationStatistics.stop(GenerationPhase.PSI_CREATION, start, newMembers.length);
+
+        PsiMember[] existingMembers = new PsiMember[newMembers.length];
+        String[] newJavaDocs = new String[newMembers.length];
+        for (int i = 0; i < newMembers.length; i++) {
+            String name = newMembers[i].getName();
+            if (newMembers[i] instanceof PsiField) {
+                existingMembers[i] = getMemberIndex().findFieldByName(name);
+            } else if (newMembers[i] instanceof PsiMethod) {
+                existingMembers[i] = getMemberIndex().findMethodByName(name);
+            } else {
+                existingMembers[i] = clazz.findInnerClassByName(name, false);
+            }
+            newJavaDocs[i] = pipeline.javaDocText(name);
+        }
+
+        // applyJavaDocs and applyMembers conflict resolution policy
+        String existingJavaDoc = (String) params.get("existingJavaDoc");
+        start = GenerationStatistics.start();
+        policy.applyJavaDocs(clazz, newMembers, getElementFactory(), existingJavaDoc, newJavaDocs);
+        GenerationStatistics.stop(GenerationPhase.JAVADOC, start, newMembers.length);
+        start = GenerationStatistics.start();
+        List<PsiMember> appliedMembers = policy.applyMembers(getEditor(), clazz, existingMembers, newMembers);
+        GenerationStatistics.stop(GenerationPhase.INSERTION, start, newMembers.length);
+        if (appliedMembers == null) {
+            return; // user cancelled
+        }
+
+        getMemberIndex().addAll(appliedMembers);
+
+        // the indexes of the properties no longer declared
+        for (String name : staleIndexes) {
+            PsiField stale = getMemberIndex().findFieldByName(name);
+            if (stale != null) {
+                stale.delete();
+            }
+        }
+
+        // the generated code uses qualified class names
+        for (PsiMember appliedMember : appliedMembers) {
+            getPsi().shortenClassReferences(getProject(), appliedMember);
+        }
+
+        // reformat code style
+        reformatMembers(clazz, appliedMembers);
+    }
+}
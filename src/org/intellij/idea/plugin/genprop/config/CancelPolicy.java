@@ -5,6 +5,8 @@ import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.util.IncorrectOperationException;
 
+import java.util.List;
+
 /**
  * This policy is to cancel.
  *
@@ -46,6 +48,23 @@ public class CancelPolicy
         return false;  // the user cancels
     }
 
+    public List<PsiMember> applyMembers(Editor editor,
+                                        PsiClass clazz,
+                                        PsiMember[] existingMembers,
+                                        PsiMember[] newMembers)
+            throws IncorrectOperationException {
+        return null; // the user cancels
+    }
+
+    public boolean applyJavaDocs(PsiClass clazz,
+                                 PsiDocCommentOwner[] newElements,
+                                 PsiElementFactory elementFactory,
+                                 String existingJavaDoc,
+                                 String[] newJavaDocs)
+            throws IncorrectOperationException {
+        return false;  // the user cancels
+    }
+
     public String toString() {
         return "Cancel";
     }
@@ -35,6 +35,18 @@ public class Config
     private boolean disableActionInMenus = false;
     private boolean inspectionOnTheFly = false;
     private boolean enableMethods = false;
+    private boolean primitiveSetters = false;
+    private boolean setterEqualityCheck = false;
+    private boolean setterIdentityCheck = false;
+    private boolean generateChangeSupport = false;
+    private boolean listenerDispatcher = false;
+    private boolean atomicSetters = false;
+    private boolean varHandles = false;
+    private boolean propertyEnum = false;
+    private boolean dirtyTracking = false;
+    private boolean dirtyOnly = false;
+    private boolean recordStatistics = false;
+    private transient FilterPattern filterPattern; // built from the filter settings when needed
 
     public boolean isUseFullyQualifiedName() {
         return useFullyQualifiedName;
@@ -100,6 +112,7 @@ public class Config
 
     public void setFilterConstantField(boolean filterConstantField) {
         this.filterConstantField = filterConstantField;
+        filterPattern = null;
     }
 
     public boolean isFilterTransientModifier() {
@@ -108,6 +121,7 @@ public class Config
 
     public void setFilterTransientModifier(boolean filterTransientModifier) {
         this.filterTransientModifier = filterTransientModifier;
+        filterPattern = null;
     }
 
     public boolean isFilterStaticModifier() {
@@ -116,6 +130,7 @@ public class Config
 
     public void setFilterStaticModifier(boolean filterStaticModifier) {
         this.filterStaticModifier = filterStaticModifier;
+        filterPattern = null;
     }
 
     public String getFilterFieldName() {
@@ -124,6 +139,7 @@ public class Config
 
     public void setFilterFieldName(String filterFieldName) {
         this.filterFieldName = filterFieldName;
+        filterPattern = null;
     }
 
     public boolean isAddImplementSerializable() {
@@ -174,17 +190,107 @@ public class Config
         this.enableMethods = enableMethods;
     }
 
+    public boolean isPrimitiveSetters() {
+        return primitiveSetters;
+    }
+
+    public void setPrimitiveSetters(boolean primitiveSetters) {
+        this.primitiveSetters = primitiveSetters;
+    }
+
+    public boolean isSetterEqualityCheck() {
+        return setterEqualityCheck;
+    }
+
+    public void setSetterEqualityCheck(boolean setterEqualityCheck) {
+        this.setterEqualityCheck = setterEqualityCheck;
+    }
+
+    public boolean isSetterIdentityCheck() {
+        return setterIdentityCheck;
+    }
+
+    public void setSetterIdentityCheck(boolean setterIdentityCheck) {
+        this.setterIdentityCheck = setterIdentityCheck;
+    }
+
+    public boolean isGenerateChangeSupport() {
+        return generateChangeSupport;
+    }
+
+    public void setGenerateChangeSupport(boolean generateChangeSupport) {
+        this.generateChangeSupport = generateChangeSupport;
+    }
+
+    public boolean isListenerDispatcher() {
+        return listenerDispatcher;
+    }
+
+    public void setListenerDispatcher(boolean listenerDispatcher) {
+        this.listenerDispatcher = listenerDispatcher;
+    }
+
+    public boolean isAtomicSetters() {
+        return atomicSetters;
+    }
+
+    public void setAtomicSetters(boolean atomicSetters) {
+        this.atomicSetters = atomicSetters;
+    }
+
+    public boolean isVarHandles() {
+        return varHandles;
+    }
+
+    public void setVarHandles(boolean varHandles) {
+        this.varHandles = varHandles;
+    }
+
+    public boolean isPropertyEnum() {
+        return propertyEnum;
+    }
+
+    public void setPropertyEnum(boolean propertyEnum) {
+        this.propertyEnum = propertyEnum;
+    }
+
+    public boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    public boolean isDirtyOnly() {
+        return dirtyOnly;
+    }
+
+    public void setDirtyOnly(boolean dirtyOnly) {
+        this.dirtyOnly = dirtyOnly;
+    }
+
+    public boolean isRecordStatistics() {
+        return recordStatistics;
+    }
+
+    public void setRecordStatistics(boolean recordStatistics) {
+        this.recordStatistics = recordStatistics;
+    }
+
     public String getFilterMethodName() {
         return filterMethodName;
     }
 
     public void setFilterMethodName(String filterMethodName) {
         this.filterMethodName = filterMethodName;
+        filterPattern = null;
     }
 
     public void readExternal(Element element)
             throws InvalidDataException {
         DefaultJDOMExternalizer.readExternal(this, element);
+        filterPattern = null;
     }
 
     public void writeExternal(Element element)
@@ -193,17 +299,22 @@ public class Config
     }
 
     /**
-     * Get's the filter pattern that this configuration represent.
+     * Get's the filter pattern that this configuration represent. <p/> The pattern is only built again when a filter
+     * setting is changed, so its regular expressions are compiled once. The returned pattern must not be changed.
      *
      * @return the filter pattern.
      */
     public FilterPattern getFilterPattern() {
-        FilterPattern pattern = new FilterPattern();
-        pattern.setConstantField(filterConstantField);
-        pattern.setTransientModifier(filterTransientModifier);
-        pattern.setStaticModifier(filterStaticModifier);
-        pattern.setFieldName(filterFieldName);
-        pattern.setMethodName(filterMethodName);
+        FilterPattern pattern = filterPattern;
+        if (pattern == null) {
+            pattern = new FilterPattern();
+            pattern.setConstantField(filterConstantField);
+            pattern.setTransientModifier(filterTransientModifier);
+            pattern.setStaticModifier(filterStaticModifier);
+            pattern.setFieldName(filterFieldName);
+            pattern.setMethodName(filterMethodName);
+            filterPattern = pattern;
+        }
         return pattern;
     }
 
@@ -229,6 +340,39 @@ public class Config
         if (enableMethods != config.enableMethods) {
             return false;
         }
+        if (primitiveSetters != config.primitiveSetters) {
+            return false;
+        }
+        if (setterEqualityCheck != config.setterEqualityCheck) {
+            return false;
+        }
+        if (setterIdentityCheck != config.setterIdentityCheck) {
+            return false;
+        }
+        if (generateChangeSupport != config.generateChangeSupport) {
+            return false;
+        }
+        if (listenerDispatcher != config.listenerDispatcher) {
+            return false;
+        }
+        if (atomicSetters != config.atomicSetters) {
+            return false;
+        }
+        if (varHandles != config.varHandles) {
+            return false;
+        }
+        if (propertyEnum != config.propertyEnum) {
+            return false;
+        }
+        if (dirtyTracking != config.dirtyTracking) {
+            return false;
+        }
+        if (dirtyOnly != config.dirtyOnly) {
+            return false;
+        }
+        if (recordStatistics != config.recordStatistics) {
+            return false;
+        }
         if (filterConstantField != config.filterConstantField) {
             return false;
         }
@@ -290,6 +434,17 @@ public class Config
         result = 29 * result + (disableActionInMenus ? 1 : 0);
         result = 29 * result + (inspectionOnTheFly ? 1 : 0);
         result = 29 * result + (enableMethods ? 1 : 0);
+        result = 29 * result + (primitiveSetters ? 1 : 0);
+        result = 29 * result + (setterEqualityCheck ? 1 : 0);
+        result = 29 * result + (setterIdentityCheck ? 1 : 0);
+        result = 29 * result + (generateChangeSupport ? 1 : 0);
+        result = 29 * result + (listenerDispatcher ? 1 : 0);
+        result = 29 * result + (atomicSetters ? 1 : 0);
+        result = 29 * result + (varHandles ? 1 : 0);
+        result = 29 * result + (propertyEnum ? 1 : 0);
+        result = 29 * result + (dirtyTracking ? 1 : 0);
+        result = 29 * result + (dirtyOnly ? 1 : 0);
+        result = 29 * result + (recordStatistics ? 1 : 0);
         return result;
     }
 
@@ -311,6 +466,17 @@ public class Config
                 ", disableActionInMenus=" + disableActionInMenus +
                 ", inspectionOnTheFly=" + inspectionOnTheFly +
                 ", enableMethods=" + enableMethods +
+                ", primitiveSetters=" + primitiveSetters +
+                ", setterEqualityCheck=" + setterEqualityCheck +
+                ", setterIdentityCheck=" + setterIdentityCheck +
+                ", generateChangeSupport=" + generateChangeSupport +
+                ", listenerDispatcher=" + listenerDispatcher +
+                ", atomicSetters=" + atomicSetters +
+                ", varHandles=" + varHandles +
+                ", propertyEnum=" + propertyEnum +
+                ", dirtyTracking=" + dirtyTracking +
+                ", dirtyOnly=" + dirtyOnly +
+                ", recordStatistics=" + recordStatistics +
                 '}';
     }
 
@@ -5,6 +5,8 @@ import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.util.IncorrectOperationException;
 
+import java.util.List;
+
 /**
  * Interface that defines a policy for dealing with conflicts (i.e., the user is trying to genprop a {@link
  * Object#toString} method but one already exists in this class).
@@ -62,4 +64,44 @@ public interface ConflictResolutionPolicy {
                          String newJavaDoc)
             throws IncorrectOperationException;
 
-}
+    /**
+     * Applies the choosen policy to a batch of new members. <p/> The new members must be siblings in the same holder
+     * class (etc. created with {@link PsiElementFactory#createClassFromText}), so the members not in conflict can be
+     * inserted into the class in one operation.
+     *
+     * @param editor
+     * @param clazz           PSIClass.
+     * @param existingMembers existing members, the member at index i is the existing member for the new member at
+     *                        index i or null if none exists.
+     * @param newMembers      new members.
+     * @return the members added to or replaced in the class, null if the policy was cancelled.
+     * @throws IncorrectOperationException is thrown if there is an IDEA error.
+     * @since 0.16
+     */
+    List<PsiMember> applyMembers(Editor editor,
+                                 PsiClass clazz,
+                                 PsiMember[] existingMembers,
+                                 PsiMember[] newMembers)
+            throws IncorrectOperationException;
+
+    /**
+     * Applies the choose policy for javadoc to a batch of new members. <p/> The javadoc is added before the members are
+     * inserted into the class, so no code style reformatting is done.
+     *
+     * @param clazz           PSIClass
+     * @param newElements     the new members
+     * @param elementFactory  Element factory
+     * @param existingJavaDoc Existing javadoc if any
+     * @param newJavaDocs     The new javadoc for each of the new members
+     * @return true if javadoc added, false if left as it
+     * @throws IncorrectOperationException is thrown if there is an IDEA error.
+     * @since 0.16
+     */
+    boolean applyJavaDocs(PsiClass clazz,
+                          PsiDocCommentOwner[] newElements,
+                          PsiElementFactory elementFactory,
+                          String existingJavaDoc,
+                          String[] newJavaDocs)
+            throws IncorrectOperationException;
+
+}
\ No newline at end of file
@@ -4,11 +4,16 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapterFactory;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * This policy is to create a duplicate {@code toString} method.
  *
@@ -54,6 +59,14 @@ public class DuplicatePolicy
         return true;
     }
 
+    public List<PsiMember> applyMembers(Editor editor,
+                                        PsiClass clazz,
+                                        PsiMember[] existingMembers,
+                                        PsiMember[] newMembers)
+            throws IncorrectOperationException {
+        return insertNewElements(clazz, Arrays.asList(newMembers));
+    }
+
     @SuppressWarnings("MethodWithTooManyParameters")
     public boolean applyJavaDoc(PsiClass clazz,
                                 PsiDocCommentOwner newElement,
@@ -70,8 +83,81 @@ public class DuplicatePolicy
         return psi.addOrReplaceJavadoc(elementFactory, codeStyleManager, newElement, text, false) != null;
     }
 
+    @SuppressWarnings("MethodWithTooManyParameters")
+    public boolean applyJavaDocs(PsiClass clazz,
+                                 PsiDocCommentOwner[] newElements,
+                                 PsiElementFactory elementFactory,
+                                 String existingJavaDoc,
+                                 String[] newJavaDocs)
+            throws IncorrectOperationException {
+        PsiAdapter psi = PsiAdapterFactory.getPsiAdapter();
+
+        boolean added = false;
+        for (int i = 0; i < newElements.length; i++) {
+            String text = existingJavaDoc == null ? newJavaDocs[i] : existingJavaDoc; // keep existing
+            if (psi.addJavadoc(elementFactory, newElements[i], text, false) != null) {
+                added = true;
+            }
+        }
+        return added;
+    }
+
     protected boolean insertNewElement(PsiClass clazz, PsiElement newElement)
             throws IncorrectOperationException {
+        PsiElement anchor = findAnchor(clazz);
+        if (anchor != null) {
+            clazz.addAfter(newElement, anchor);
+        } else {
+            // caret is at/after the right brace so add it before
+            clazz.addBefore(newElement, clazz.getRBrace());
+        }
+
+        return true;
+    }
+
+    /**
+     * Inserts the new members into the class in one operation at the same spot {@link #insertNewElement} would use.
+     *
+     * @param clazz      the class.
+     * @param newMembers the new members, must be siblings in the same holder class.
+     * @return the members added to the class.
+     * @throws IncorrectOperationException is thrown if there is an IDEA error.
+     */
+    protected List<PsiMember> insertNewElements(PsiClass clazz, List<? extends PsiMember> newMembers)
+            throws IncorrectOperationException {
+        List<PsiMember> added = new ArrayList<PsiMember>(newMembers.size());
+        if (newMembers.isEmpty()) {
+            return added;
+        }
+
+        PsiElement first = newMembers.get(0);
+        PsiElement last = newMembers.get(newMembers.size() - 1);
+        PsiElement anchor = findAnchor(clazz);
+        PsiElement element;
+        if (anchor != null) {
+            element = clazz.addRangeAfter(first, last, anchor);
+        } else {
+            // caret is at/after the right brace so add it before
+            element = clazz.addRangeBefore(first, last, clazz.getRBrace());
+        }
+
+        // collect the added copies of the members, the range only holds the members and whitespace
+        for (; element != null && added.size() < newMembers.size(); element = element.getNextSibling()) {
+            if (element instanceof PsiMember) {
+                added.add((PsiMember) element);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Finds the element new elements should be added after, based on the caret position.
+     *
+     * @param clazz the class.
+     * @return the element to add after, null if new elements should be added before the right brace.
+     */
+    @Nullable
+    private PsiElement findAnchor(PsiClass clazz) {
         Project project = clazz.getProject();
         PsiAdapter psi = PsiAdapterFactory.getPsiAdapter();
 
@@ -81,24 +167,29 @@ public class DuplicatePolicy
         // find the element the cursor is postion on
         PsiElement cur = psi.findElementAtCursorPosition(javaFile, editor);
 
+        // no caret in the file of the class (etc. generating in many classes at once) so add it before the right brace
+        if (cur == null || cur.getContainingFile() != clazz.getContainingFile()) {
+            return null;
+        }
+
+        // the caret is in another class of the file (etc. an inner class or another top level class)
+        PsiClass owner = PsiTreeUtil.getParentOfType(cur, PsiClass.class, false);
+        if (owner != null && owner != clazz) {
+            return null;
+        }
+
         // ID 10, ID 12, ID14: handle caret position can be outside the class braces
         if (beforeLeftBrace(cur, clazz)) {
-            clazz.addAfter(newElement, clazz.getLBrace());
+            return clazz.getLBrace();
         } else if (beforeRightBrace(cur, clazz)) {
             // assuming within the clazz, try find better spot to insert, since cur can be anywhere
             PsiElement spot = findBestSpotToInsert(cur);
-            if (spot != null) {
-                clazz.addAfter(newElement, spot);
-            } else {
-                // default to add it after the current position
-                clazz.addAfter(newElement, cur);
-            }
+            // default to add it after the current position, which must be a child of the class to add after it
+            PsiElement anchor = spot != null ? spot : cur;
+            return anchor.getParent() == clazz ? anchor : null;
         } else {
-            // caret is at/after the right brace so add it before
-            clazz.addBefore(newElement, clazz.getRBrace());
+            return null;
         }
-
-        return true;
     }
 
     @Nullable
@@ -1,16 +1,42 @@
 package org.intellij.idea.plugin.genprop.config;
 
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import java.util.regex.Pattern;
+
 /**
  * This is a filtering pattern, used to filter unwanted fields for this action.
+ * <p/>
+ * The regular expressions are compiled the first time they are used, and the constant and modifier filters are tested
+ * as a bitmask before the regular expression runs.
  */
 public class FilterPattern {
 
+    /**
+     * Filter flag of constant fields.
+     */
+    public static final int CONSTANT_FIELD = 1;
+
+    /**
+     * Filter flag of fields with static modifier.
+     */
+    public static final int STATIC_MODIFIER = 1 << 1;
+
+    /**
+     * Filter flag of fields with transient modifier.
+     */
+    public static final int TRANSIENT_MODIFIER = 1 << 2;
+
     private String fieldName;
     private String methodName;
     private boolean constantField;
     private boolean staticModifier;
     private boolean transientModifier;
 
+    private int fieldFlags;
+    private Pattern fieldNamePattern;
+    private Pattern methodNamePattern;
+
     public String getFieldName() {
         return fieldName;
     }
@@ -22,6 +48,7 @@ public class FilterPattern {
      */
     public void setFieldName(String regexp) {
         this.fieldName = regexp;
+        this.fieldNamePattern = null;
     }
 
     public boolean isConstantField() {
@@ -35,6 +62,7 @@ public class FilterPattern {
      */
     public void setConstantField(boolean constantField) {
         this.constantField = constantField;
+        fieldFlags = constantField ? fieldFlags | CONSTANT_FIELD : fieldFlags & ~CONSTANT_FIELD;
     }
 
     public boolean isTransientModifier() {
@@ -48,6 +76,7 @@ public class FilterPattern {
      */
     public void setTransientModifier(boolean transientModifier) {
         this.transientModifier = transientModifier;
+        fieldFlags = transientModifier ? fieldFlags | TRANSIENT_MODIFIER : fieldFlags & ~TRANSIENT_MODIFIER;
     }
 
     public boolean isStaticModifier() {
@@ -61,6 +90,7 @@ public class FilterPattern {
      */
     public void setStaticModifier(boolean staticModifier) {
         this.staticModifier = staticModifier;
+        fieldFlags = staticModifier ? fieldFlags | STATIC_MODIFIER : fieldFlags & ~STATIC_MODIFIER;
     }
 
     public String getMethodName() {
@@ -74,6 +104,41 @@ public class FilterPattern {
      */
     public void setMethodName(String regexp) {
         this.methodName = regexp;
+        this.methodNamePattern = null;
+    }
+
+    /**
+     * Is the field unwanted?
+     *
+     * @param flags the filter flags of the field, a combination of {@link #CONSTANT_FIELD}, {@link #STATIC_MODIFIER} and
+     *              {@link #TRANSIENT_MODIFIER}.
+     * @param name  the name of the field.
+     * @return true if the field is filtered.
+     * @throws java.util.regex.PatternSyntaxException is thrown if the field name regular expression is invalid.
+     */
+    public boolean isFieldFiltered(int flags, String name) {
+        if ((flags & fieldFlags) != 0) {
+            return true;
+        }
+
+        if (fieldNamePattern == null && StringUtil.isNotEmpty(fieldName)) {
+            fieldNamePattern = Pattern.compile(fieldName);
+        }
+        return fieldNamePattern != null && fieldNamePattern.matcher(name).matches();
+    }
+
+    /**
+     * Is the method unwanted?
+     *
+     * @param name the name of the method.
+     * @return true if the method is filtered.
+     * @throws java.util.regex.PatternSyntaxException is thrown if the method name regular expression is invalid.
+     */
+    public boolean isMethodFiltered(String name) {
+        if (methodNamePattern == null && StringUtil.isNotEmpty(methodName)) {
+            methodNamePattern = Pattern.compile(methodName);
+        }
+        return methodNamePattern != null && methodNamePattern.matcher(name).matches();
     }
 
     public String toString() {
@@ -7,6 +7,8 @@ import com.intellij.util.IncorrectOperationException;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapterFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -56,6 +58,29 @@ public class ReplacePolicy
         }
     }
 
+    public List<PsiMember> applyMembers(Editor editor,
+                                        PsiClass clazz,
+                                        PsiMember[] existingMembers,
+                                        PsiMember[] newMembers)
+            throws IncorrectOperationException {
+        List<PsiMember> applied = new ArrayList<PsiMember>(newMembers.length);
+        List<PsiMember> remaining = new ArrayList<PsiMember>(newMembers.length);
+        for (int i = 0; i < newMembers.length; i++) {
+            if (existingMembers[i] != null) {
+                applied.add((PsiMember) existingMembers[i].replace(newMembers[i]));
+                newMembers[i].delete(); // remove from the holder so the remaining members are still a range
+            } else {
+                remaining.add(newMembers[i]);
+            }
+        }
+
+        PsiMember[] remainingMembers = remaining.toArray(new PsiMember[remaining.size()]);
+        applied.addAll(DuplicatePolicy.getInstance().applyMembers(
+                editor,
+                clazz, new PsiMember[remainingMembers.length], remainingMembers));
+        return applied;
+    }
+
     @SuppressWarnings("MethodWithTooManyParameters")
     public boolean applyJavaDoc(PsiClass clazz,
                                 PsiDocCommentOwner newElement,
@@ -74,6 +99,18 @@ public class ReplacePolicy
         return psi.get().addOrReplaceJavadoc(elementFactory, codeStyleManager, newElement, text, false) != null;
     }
 
+    @SuppressWarnings("MethodWithTooManyParameters")
+    public boolean applyJavaDocs(PsiClass clazz,
+                                 PsiDocCommentOwner[] newElements,
+                                 PsiElementFactory elementFactory,
+                                 String existingJavaDoc,
+                                 String[] newJavaDocs)
+            throws IncorrectOperationException {
+        return DuplicatePolicy.getInstance().applyJavaDocs(
+                clazz, newElements,
+                elementFactory, existingJavaDoc, newJavaDocs);
+    }
+
     public String toString() {
         return "Replace Existing   "; // add spaces to fix ConfigUI being displayed nicely
     }
@@ -1,5 +1,7 @@
 package org.intellij.idea.plugin.genprop.element;
 
+import org.intellij.idea.plugin.genprop.model.SourceType;
+
 /**
  * Base class to extends for Elements. <p/> Currently there are two kind of elements: Field and Method.
  *
@@ -28,6 +30,7 @@ public abstract class AbstractElement
     private String typeName;
     private String typeQualifiedName;
     private String typePresentableText;
+    private String typeErasedText;
     private boolean isModifierStatic;
     private boolean isModifierPublic;
     private boolean isModifierProtected;
@@ -235,6 +238,21 @@ public abstract class AbstractElement
         this.typePresentableText = typePresentableText;
     }
 
+    /**
+     * Get's the text of the erasure of the type, as needed for a class literal (etc. List for List&lt;String&gt;, the
+     * qualified bound for a type variable).
+     *
+     * @return the text of the erasure.
+     * @since 0.16
+     */
+    public String getTypeErasedText() {
+        return typeErasedText != null ? typeErasedText : SourceType.erasure(typePresentableText);
+    }
+
+    void setTypeErasedText(String typeErasedText) {
+        this.typeErasedText = typeErasedText;
+    }
+
     public String toString() {
         return "AbstractElement{" +
                 "isArray=" + isArray +
@@ -85,27 +85,28 @@ public class FieldElement
     }
 
     public boolean applyFilter(FilterPattern pattern) {
-        if (pattern == null) {
-            return false;
-        }
-
-        if (pattern.isConstantField() && isConstant) {
-            return true;
-        }
+        return pattern != null && pattern.isFieldFiltered(getFilterFlags(), getName());
+    }
 
-        if (pattern.isStaticModifier() && isModifierStatic()) {
-            return true;
+    /**
+     * Get's the flags of this field for filtering.
+     *
+     * @return the flags as a combination of {@link FilterPattern#CONSTANT_FIELD}, {@link
+     *         FilterPattern#STATIC_MODIFIER} and {@link FilterPattern#TRANSIENT_MODIFIER}.
+     * @since 0.16
+     */
+    public int getFilterFlags() {
+        int flags = 0;
+        if (isConstant) {
+            flags |= FilterPattern.CONSTANT_FIELD;
         }
-
-        if (pattern.isTransientModifier() && isModifierTransient) {
-            return true;
+        if (isModifierStatic()) {
+            flags |= FilterPattern.STATIC_MODIFIER;
         }
-
-        if (StringUtil.isNotEmpty(pattern.getFieldName()) && getName().matches(pattern.getFieldName())) {
-            return true;
+        if (isModifierTransient) {
+            flags |= FilterPattern.TRANSIENT_MODIFIER;
         }
-
-        return false;
+        return flags;
     }
 
     public String toString() {
@@ -92,14 +92,7 @@ public class MethodElement extends AbstractElement implements Serializable, Elem
     }
 
     public boolean applyFilter(FilterPattern pattern) {
-        if (pattern == null)
-            return false;
-
-        if (StringUtil.isNotEmpty(pattern.getMethodName()) && methodName.matches(pattern.getMethodName())) {
-            return true;
-        }
-
-        return false;
+        return pattern != null && pattern.isMethodFiltered(methodName);
     }
 
     public String toString() {
@@ -0,0 +1,205 @@
+package org.intellij.idea.plugin.genprop.element;
+
+import org.apache.log4j.Logger;
+import org.intellij.idea.plugin.genprop.model.SourceField;
+import org.intellij.idea.plugin.genprop.model.SourceMethod;
+import org.intellij.idea.plugin.genprop.model.SourceModifiers;
+import org.intellij.idea.plugin.genprop.model.SourceType;
+import org.intellij.idea.plugin.genprop.model.TypeClassification;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import java.util.regex.Pattern;
+
+/**
+ * Factory for creating {@link FieldElement} or {@link MethodElement} objects from the {@link
+ * org.intellij.idea.plugin.genprop.model.SourceClass source model}. <p/> Does not use the PSI, so the generation
+ * pipelines can run without IDEA.
+ *
+ * @author Thomas Edwin Santosa
+ * @see ElementFactory
+ * @since 0.16
+ */
+public class SourceElementFactory {
+
+    private static Logger log = Logger.getLogger(SourceElementFactory.class);
+
+    private static final Pattern BOOLEAN_GETTER_PATTERN = Pattern.compile("^(is|has)\\p{Upper}.*");
+    private static final Pattern GETTER_PATTERN = Pattern.compile("^(get)\\p{Upper}.*");
+
+    /**
+     * Create a new {@link FieldElement} object from a field of the source model.
+     *
+     * @param field the field to get the information from.
+     * @return a new {@link FieldElement} object.
+     * @since 0.16
+     */
+    public static FieldElement newFieldElement(SourceField field) {
+        long start = GenerationStatistics.start();
+        FieldElement fe = new FieldElement();
+        SourceModifiers modifiers = field.getModifiers();
+
+        // name
+        fe.setName(field.getName());
+
+        // modifiers - a constant is static and must NOT have any lowercase character in its name
+        if (modifiers.isStatic() && !StringUtil.hasLowerCaseChar(field.getName())) {
+            fe.setConstant(true);
+        }
+        if (modifiers.isTransient()) {
+            fe.setModifierTransient(true);
+        }
+        if (modifiers.isVolatile()) {
+            fe.setModifierVolatile(true);
+        }
+
+        setElementInfo(fe, field.getType(), modifiers);
+
+        GenerationStatistics.stop(GenerationPhase.ELEMENT, start);
+        return fe;
+    }
+
+    /**
+     * Creates a new {@link MethodElement} object from a method of the source model.
+     *
+     * @param method the method to get the information from.
+     * @return a new {@link MethodElement} object.
+     * @since 0.16
+     */
+    public static MethodElement newMethodElement(SourceMethod method) {
+        long start = GenerationStatistics.start();
+        MethodElement me = new MethodElement();
+        SourceType type = method.getReturnType();
+
+        // if something is wrong:
+        // http://www.intellij.net/forums/thread.jsp?nav=false&forum=18&thread=88676&start=0&msRange=15
+        if (type == null) {
+            log.warn("This method does not have a valid return type: " + method.getName() + ", returnType=" + type);
+            return me;
+        }
+
+        SourceModifiers modifiers = method.getModifiers();
+        setElementInfo(me, type, modifiers);
+
+        // names
+        boolean getter = isGetter(method.getName(), type);
+        String fieldName = getter ? getGetterFieldName(method.getName()) : null;
+        me.setName(fieldName == null ? method.getName() : fieldName);
+        me.setFieldName(fieldName);
+        me.setMethodName(method.getName());
+
+        // getter
+        me.setGetter(getter);
+
+        // misc
+        me.setReturnTypeVoid(type.isVoid());
+
+        // modifiers
+        if (modifiers.isAbstract()) {
+            me.setModifierAbstract(true);
+        }
+        if (modifiers.isSynchronized()) {
+            me.setModifierSynchronzied(true);
+        }
+
+        GenerationStatistics.stop(GenerationPhase.ELEMENT, start);
+        return me;
+    }
+
+    /**
+     * Is the method a getter method? <p/> The name must start with {@code get}, or with {@code is} or {@code has} for
+     * boolean types, and it must not return void.
+     *
+     * @see org.intellij.idea.plugin.genprop.psi.PsiAdapter#isGetterMethod(com.intellij.psi.PsiElementFactory,
+     *      com.intellij.psi.PsiMethod)
+     */
+    private static boolean isGetter(String methodName, SourceType type) {
+        if (type.isVoid()) {
+            return false;
+        }
+        if (BOOLEAN_GETTER_PATTERN.matcher(methodName).matches()) {
+            return type.getClassification().isBoolean();
+        }
+        return GETTER_PATTERN.matcher(methodName).matches();
+    }
+
+    /**
+     * Get's the field name of the getter method, the part of the name that is after {@code get} or {@code is}.
+     *
+     * @see org.intellij.idea.plugin.genprop.psi.PsiAdapter#getGetterFieldName(com.intellij.psi.PsiElementFactory,
+     *      com.intellij.psi.PsiMethod)
+     */
+    private static String getGetterFieldName(String methodName) {
+        String name = StringUtil.after(methodName, "get");
+        if (name == null) {
+            name = StringUtil.after(methodName, "is");
+        }
+        return name == null ? null : StringUtil.firstLetterToLowerCase(name);
+    }
+
+    /**
+     * Sets the basic element information from the given type.
+     *
+     * @param element   the element to set information from the type
+     * @param type      the type
+     * @param modifiers the modifiers.
+     * @since 2.15
+     */
+    private static void setElementInfo(AbstractElement element, SourceType type, SourceModifiers modifiers) {
+
+        // type names
+        element.setTypeName(type.getClassName());
+        element.setTypePresentableText(type.getPresentableText());
+        element.setTypeErasedText(type.getErasedText());
+        element.setTypeQualifiedName(type.getQualifiedClassName());
+
+        // arrays, collections, maps and other types - classified at once and shared by the fields of the same type
+        TypeClassification types = type.getClassification();
+        if (types.isObjectArray()) {
+            element.setObjectArray(true);
+            element.setArray(true);
+
+            // additional specify if the element is a string array
+            if (types.isStringArray()) {
+                element.setStringArray(true);
+            }
+
+        } else if (types.isPrimitiveArray()) {
+            element.setPrimitiveArray(true);
+            element.setArray(true);
+        }
+        element.setCollection(types.isCollection());
+        element.setList(types.isList());
+        element.setSet(types.isSet());
+        element.setMap(types.isMap());
+
+        // other types
+        element.setPrimitive(types.isPrimitive());
+        element.setObject(types.isObject());
+        element.setString(types.isString());
+        element.setNumeric(types.isNumeric());
+        element.setDate(types.isDate());
+        element.setCalendar(types.isCalendar());
+        element.setBoolean(types.isBoolean());
+
+        // modifiers
+        if (modifiers.isStatic()) {
+            element.setModifierStatic(true);
+        }
+        if (modifiers.isFinal()) {
+            element.setModifierFinal(true);
+        }
+        if (modifiers.isPublic()) {
+            element.setModifierPublic(true);
+        } else if (modifiers.isProtected()) {
+            element.setModifierProtected(true);
+        } else if (modifiers.isPackageLocal()) {
+            element.setModifierPackageLocal(true);
+        } else if (modifiers.isPrivate()) {
+            element.setModifierPrivate(true);
+        }
+
+    }
+
+}
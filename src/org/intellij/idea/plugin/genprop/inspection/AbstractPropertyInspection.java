@@ -4,6 +4,7 @@ import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.psi.PsiField;
 import org.apache.log4j.Logger;
 import org.intellij.idea.plugin.genprop.GeneratePropertyNameContext;
+import org.intellij.idea.plugin.genprop.config.FilterPattern;
 import org.intellij.idea.plugin.genprop.element.ElementFactory;
 import org.intellij.idea.plugin.genprop.element.FieldElement;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
@@ -42,8 +43,9 @@ public abstract class AbstractPropertyInspection
      * @param psi    psi adapter.
      * @return a list with all the fields <b>not</b> exluded by the filter.
      */
-    protected List filterFields(PsiField[] fields, PsiAdapter psi) {
-        List filtered = new ArrayList();
+    protected static List<FieldElement> filterFields(PsiField[] fields, PsiAdapter psi) {
+        List<FieldElement> filtered = new ArrayList<FieldElement>();
+        FilterPattern pattern = GeneratePropertyNameContext.getConfig().getFilterPattern();
 
         for (int i = 0; i < fields.length; i++) {
             PsiField field = fields[i];
@@ -59,7 +61,7 @@ public abstract class AbstractPropertyInspection
                 log.debug(fe);
             }
 
-            if (!fe.applyFilter(GeneratePropertyNameContext.getConfig().getFilterPattern())) {
+            if (!fe.applyFilter(pattern)) {
                 if (log.isDebugEnabled()) {
                     log.debug("Field is NOT excluded: " + fe.getName());
                 }
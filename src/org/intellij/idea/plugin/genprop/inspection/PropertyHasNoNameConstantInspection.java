@@ -4,11 +4,18 @@ import com.intellij.codeInspection.InspectionManager;
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiField;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.apache.log4j.Logger;
 import org.intellij.idea.plugin.genprop.GeneratePropertyNameContext;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
 import org.intellij.idea.plugin.genprop.psi.PsiAdapter;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
 import org.intellij.idea.plugin.genprop.util.StringUtil;
 
 import javax.swing.*;
@@ -17,7 +24,11 @@ import javax.swing.event.DocumentListener;
 import javax.swing.text.Document;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Intention to check if the current class overwrites the toString() method. <p/> This inspection will use filter
@@ -38,6 +49,13 @@ public class PropertyHasNoNameConstantInspection
      */
     public String excludeClassNames = ".*Exception";  // must be public for JDOMSerialization
 
+    private static final Key<CachedValue<List<String>>> MISSING_CONSTANTS_KEY =
+            Key.create("PropertyHasNoNameConstantInspection.missingConstants");
+
+    // the exclude pattern compiled from the option, compiled again when the option is changed
+    private volatile String compiledExcludeClassNames;
+    private volatile Pattern compiledExcludePattern;
+
     public String getDisplayName() {
         return "Java bean property has no property name constant";
     }
@@ -47,55 +65,42 @@ public class PropertyHasNoNameConstantInspection
     }
 
     public ProblemDescriptor[] checkClass(PsiClass clazz, InspectionManager im, boolean onTheFly) {
-        if (log.isDebugEnabled()) {
-            log.debug("PropertyHasNoNameConstantInspection.checkClass: clazz=" + clazz + ", onTheFly=" + onTheFly);
-        }
-
-        // must be enabled to do check on the fly
-        if (onTheFly && !onTheFlyEnabled()) {
-            return null;
-        }
-
-        // must be a class
-        if (clazz == null || clazz.getName() == null) {
-            return null;
-        }
-
-        List problems = new ArrayList(1);
-
-        // if it is an excluded class - then skip
-        if (StringUtil.isNotEmpty(excludeClassNames) && clazz.getName().matches(excludeClassNames)) {
-            log.debug("This class is excluded");
-            return null;
-        }
+        long start = GenerationStatistics.start();
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("PropertyHasNoNameConstantInspection.checkClass: clazz=" + clazz + ", onTheFly=" + onTheFly);
+            }
 
-        // must have fields
-        PsiAdapter psi = GeneratePropertyNameContext.getPsi();
-        PsiField[] fields = psi.getFields(clazz);
-        if (fields.length == 0) {
-            log.debug("Class does not have any fields");
-            return null;
-        }
+            // must be enabled to do check on the fly
+            if (onTheFly && !onTheFlyEnabled()) {
+                return null;
+            }
 
-        // get list of fields supposed to be dumped in the toString method
-        List dumpedFields = filterFields(fields, psi);
-        if (dumpedFields.size() == 0) {
-            log.debug("No fields to be dumped as all fields was excluded (exclude field by XXX from Settings)");
-            return null;
-        }
+            // must be a class
+            if (clazz == null || clazz.getName() == null) {
+                return null;
+            }
 
-        // okay some fields are supposed to dumped, does a toString method exist
-        for (int i = 0; i < dumpedFields.size(); i++) {
-            PsiField field = (PsiField) dumpedFields.get(i);
+            // if it is an excluded class - then skip
+            Pattern excludePattern = getExcludePattern();
+            if (excludePattern != null && excludePattern.matcher(clazz.getName()).matches()) {
+                log.debug("This class is excluded");
+                return null;
+            }
 
-            PsiField constantField = psi.findFieldByName(
-                    clazz,
-                    StringUtil.generatePropertyConstantName(field.getName()));
+            // the fields without constants are cached until the class or the config is changed
+            List<String> missing =
+                    CachedValuesManager.getCachedValue(clazz, MISSING_CONSTANTS_KEY, missingConstantsProvider(clazz));
+            if (missing.isEmpty()) {
+                log.debug("No problems found");
+                return null; // no problems
+            }
 
-            if (constantField == null) {
+            List<ProblemDescriptor> problems = new ArrayList<ProblemDescriptor>(missing.size());
+            for (String fieldName : missing) {
                 // a property constant field is missing
                 if (log.isDebugEnabled()) {
-                    log.debug("Field " + field.getName() + " has no property name constant.");
+                    log.debug("Field " + fieldName + " has no property name constant.");
                 }
                 ProblemDescriptor problem = im.createProblemDescriptor(
                         clazz,
@@ -104,20 +109,67 @@ public class PropertyHasNoNameConstantInspection
                         ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
                 problems.add(problem);
             }
-        }
-
-        // any problems?
-        if (problems.size() > 0) {
             if (log.isDebugEnabled()) {
                 log.debug("Number of problems found: " + problems.size());
             }
-            return (ProblemDescriptor[]) problems.toArray(new ProblemDescriptor[problems.size()]);
-        } else {
-            log.debug("No problems found");
-            return null; // no problems
+            return problems.toArray(new ProblemDescriptor[problems.size()]);
+        } finally {
+            GenerationStatistics.stop(GenerationPhase.INSPECTION, start);
         }
     }
 
+    /**
+     * Get's the precompiled pattern of the classes to exclude. The pattern is only compiled again when the option is
+     * changed.
+     *
+     * @return the pattern, null if no classes are excluded.
+     */
+    private Pattern getExcludePattern() {
+        String regexp = excludeClassNames;
+        if (!StringUtil.isNotEmpty(regexp)) {
+            return null;
+        }
+        if (!regexp.equals(compiledExcludeClassNames)) {
+            try {
+                compiledExcludePattern = Pattern.compile(regexp);
+            } catch (PatternSyntaxException e) {
+                log.warn("Invalid regexp for classes to exclude: " + regexp, e);
+                compiledExcludePattern = null;
+            }
+            compiledExcludeClassNames = regexp;
+        }
+        return compiledExcludePattern;
+    }
+
+    /**
+     * Finds the names of the fields that are not excluded by the settings and have no property name constant.
+     */
+    private static CachedValueProvider<List<String>> missingConstantsProvider(final PsiClass clazz) {
+        return new CachedValueProvider<List<String>>() {
+            public Result<List<String>> compute() {
+                List<String> missing = new ArrayList<String>();
+                PsiAdapter psi = GeneratePropertyNameContext.getPsi();
+                PsiField[] fields = psi.getFields(clazz);
+                if (fields.length > 0) {
+                    // the names of the fields so looking up the constant does not scan all the fields
+                    Set<String> fieldNames = new HashSet<String>(fields.length * 2);
+                    for (PsiField field : fields) {
+                        fieldNames.add(field.getName());
+                    }
+
+                    // get list of fields supposed to have a constant
+                    List<FieldElement> filteredFields = filterFields(fields, psi);
+                    for (FieldElement field : filteredFields) {
+                        if (!fieldNames.contains(StringUtil.generatePropertyConstantName(field.getName()))) {
+                            missing.add(field.getName());
+                        }
+                    }
+                }
+                return Result.create(missing, clazz, GeneratePropertyNameContext.getConfigModificationTracker());
+            }
+        };
+    }
+
     /**
      * Creates the options panel in the settings for user changeable options.
      */
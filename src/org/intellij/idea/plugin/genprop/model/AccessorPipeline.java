@@ -0,0 +1,548 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the getter and the bound setter of a property, the setter fires a property change event using the
+ * property name constant: <p/>
+ * <pre>
+ * public void setFirstName(String firstName) {
+ *     Object old = this.firstName;
+ *     this.firstName = firstName;
+ *     firePropertyChange(PROPERTYNAME_FIRST_NAME, old, firstName);
+ * }
+ * </pre>
+ * The setter bodies depend on the primitive setters and the equality check settings. The other modes generate the
+ * members their setters need using a {@link AccessorStrategy strategy} each: the listener plumbing with a
+ * {@link ChangeSupportStrategy PropertyChangeSupport} or a {@link DispatcherStrategy dispatcher}, the
+ * {@link AtomicSetterStrategy atomic setters} and the {@link DirtyTrackingStrategy dirty tracking}.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class AccessorPipeline
+        extends GenerationPipeline {
+
+    // {0} getter name, {1} type, {2} field name
+    private static final AccessorTemplate GETTER = AccessorTemplate.compile(
+            "public {1} {0}() {\n" +
+                    "return {2};\n" +
+                    "}");
+
+    // {0} setter name, {1} type, {2} field name
+    private static final AccessorTemplate SETTER = AccessorTemplate.compile("public void {0}({1} {2}) {\n");
+
+    // the checks returning before any event work if the value is unchanged; {0} old value, {1} field name,
+    // {2} wrapper type
+    private static final AccessorTemplate IDENTITY_CHECK = AccessorTemplate.compile(
+            "if ({0} == {1}) {\n" +
+                    "return;\n" +
+                    "}\n");
+    private static final AccessorTemplate COMPARE_CHECK = AccessorTemplate.compile(
+            "if ({2}.compare({0}, {1}) == 0) {\n" +
+                    "return;\n" +
+                    "}\n");
+    private static final AccessorTemplate EQUALS_CHECK = AccessorTemplate.compile(
+            "if (java.util.Objects.equals({0}, {1})) {\n" +
+                    "return;\n" +
+                    "}\n");
+
+    // the bodies firing the event; {0} type, {1} field name, {2} property name or index constant, {3} wrapper type
+    private static final AccessorTemplate OBJECT_BODY = AccessorTemplate.compile(
+            "Object old = this.{1};\n" +
+                    "this.{1} = {1};\n" +
+                    "firePropertyChange({2}, old, {1});\n}");
+    // fires using the int or boolean overload
+    private static final AccessorTemplate TYPED_BODY = AccessorTemplate.compile(
+            "{0} old = this.{1};\n" +
+                    "this.{1} = {1};\n" +
+                    "firePropertyChange({2}, old, {1});\n}");
+    // only used after a check, the value has changed
+    private static final AccessorTemplate BOXING_BODY = AccessorTemplate.compile(
+            "{0} old = this.{1};\n" +
+                    "this.{1} = {1};\n" +
+                    "firePropertyChange({2}, {3}.valueOf(old), {3}.valueOf({1}));\n}");
+    private static final AccessorTemplate IDENTITY_BOXING_BODY = AccessorTemplate.compile(
+            "{0} old = this.{1};\n" +
+                    "this.{1} = {1};\n" +
+                    "if (old != {1}) {\n" +
+                    "firePropertyChange({2}, {3}.valueOf(old), {3}.valueOf({1}));\n" +
+                    "}\n}");
+    private static final AccessorTemplate COMPARE_BOXING_BODY = AccessorTemplate.compile(
+            "{0} old = this.{1};\n" +
+                    "this.{1} = {1};\n" +
+                    "if ({3}.compare(old, {1}) != 0) {\n" +
+                    "firePropertyChange({2}, {3}.valueOf(old), {3}.valueOf({1}));\n" +
+                    "}\n}");
+
+    // the body of the setters only tracking the change; {0} type, {1} field name
+    private static final AccessorTemplate ASSIGN_BODY = AccessorTemplate.compile("this.{1} = {1};\n}");
+
+    private boolean primitiveSetters = false;
+    private boolean equalityCheck = false;
+    private boolean identityCheck = false;
+    private boolean changeSupport = false;
+    private boolean dispatcher = false;
+    private boolean atomicSetters = false;
+    private boolean varHandles = false;
+    private boolean dirtyTracking = false;
+    private boolean dirtyOnly = false;
+    private String className = null;
+
+    private final ChangeSupportStrategy changeSupportStrategy = new ChangeSupportStrategy(this);
+    private final DispatcherStrategy dispatcherStrategy = new DispatcherStrategy(this);
+    private final AtomicSetterStrategy atomicSetterStrategy = new AtomicSetterStrategy(this);
+    private final DirtyTrackingStrategy dirtyTrackingStrategy = new DirtyTrackingStrategy(this);
+
+    // in the order of the declarations they add
+    private final AccessorStrategy[] strategies = {changeSupportStrategy, dispatcherStrategy, atomicSetterStrategy,
+            dirtyTrackingStrategy};
+
+    public boolean isPrimitiveSetters() {
+        return primitiveSetters;
+    }
+
+    /**
+     * Sets if the setters of primitive fields are generated without boxing the unchanged values: {@code int} and
+     * {@code boolean} use the typed {@code firePropertyChange} overloads, the other primitives compare the values
+     * before boxing them.
+     */
+    public void setPrimitiveSetters(boolean primitiveSetters) {
+        this.primitiveSetters = primitiveSetters;
+    }
+
+    public boolean isEqualityCheck() {
+        return equalityCheck;
+    }
+
+    /**
+     * Sets if the setters return before any event work when the value is unchanged.
+     */
+    public void setEqualityCheck(boolean equalityCheck) {
+        this.equalityCheck = equalityCheck;
+    }
+
+    public boolean isIdentityCheck() {
+        return identityCheck;
+    }
+
+    /**
+     * Sets if the equality check compares objects by identity only, for large immutable values where {@code equals}
+     * is expensive.
+     */
+    public void setIdentityCheck(boolean identityCheck) {
+        this.identityCheck = identityCheck;
+    }
+
+    public boolean isChangeSupport() {
+        return changeSupport;
+    }
+
+    /**
+     * Sets if the listener plumbing with a lazily created {@code PropertyChangeSupport} is generated.
+     */
+    public void setChangeSupport(boolean changeSupport) {
+        this.changeSupport = changeSupport;
+    }
+
+    public boolean isDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Sets if the listener plumbing is a dispatcher specialized to the properties of the class instead of a
+     * {@code PropertyChangeSupport}.
+     */
+    public void setDispatcher(boolean dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public boolean isAtomicSetters() {
+        return atomicSetters;
+    }
+
+    /**
+     * Sets if the setters of volatile fields swap the value atomically.
+     */
+    public void setAtomicSetters(boolean atomicSetters) {
+        this.atomicSetters = atomicSetters;
+    }
+
+    public boolean isVarHandles() {
+        return varHandles;
+    }
+
+    /**
+     * Sets if the atomic setters use a {@code VarHandle} (java 9) instead of an atomic field updater.
+     */
+    public void setVarHandles(boolean varHandles) {
+        this.varHandles = varHandles;
+    }
+
+    public boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    /**
+     * Sets if the setters mark the changed properties in a dirty mask.
+     */
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    public boolean isDirtyOnly() {
+        return dirtyOnly;
+    }
+
+    /**
+     * Sets if the setters only mark the changed properties instead of firing property change events, in the dirty
+     * tracking mode. No listener plumbing is generated then and no setter is atomic.
+     */
+    public void setDirtyOnly(boolean dirtyOnly) {
+        this.dirtyOnly = dirtyOnly;
+    }
+
+    /**
+     * Do the setters fire property change events?
+     *
+     * @return false if the setters only track the changes.
+     */
+    public boolean isBound() {
+        return !dirtyTracking || !dirtyOnly;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Sets the name of the class the code is generated in, the atomic field updaters are created for it.
+     */
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Is the setter of the field atomic? <p/> Only volatile instance fields are, and the atomic field updaters only
+     * exist for {@code int}, {@code long} and object fields.
+     *
+     * @param field the field.
+     * @return true if the setter of the field is atomic.
+     */
+    public boolean isAtomic(FieldElement field) {
+        return atomicSetterStrategy.isAtomic(field);
+    }
+
+    /**
+     * Get's the property name constants of the class by property index, see {@link PropertyIndexes}.
+     *
+     * @param clazz  the class.
+     * @param fields the fields the code is generated for.
+     * @return the names of the constants, the index in the list is the index of the property, null if it is unused.
+     */
+    public List<String> propertyConstants(SourceClass clazz, List<FieldElement> fields) {
+        return PropertyIndexes.constantsByIndex(clazz, fields);
+    }
+
+    /**
+     * Get's the index constants of the class of the properties without a name constant, which must be deleted.
+     *
+     * @param clazz  the class.
+     * @param fields the fields the code is generated for.
+     * @return the names of the constants, empty if none are stale or no index constants are generated.
+     */
+    public List<String> staleIndexNames(SourceClass clazz, List<FieldElement> fields) {
+        if (!isIndexed()) {
+            return new ArrayList<String>();
+        }
+        return PropertyIndexes.staleNames(clazz, propertyConstants(clazz, fields));
+    }
+
+    /**
+     * Get's the declarations derived from all the properties of the class, which must replace the existing ones: the
+     * index constants the dispatcher and the dirty tracking use, the property names table of the dispatcher and the
+     * dirty mask members. The existing methods must be matched by signature, see {@link #dirtyConflict(SourceClass)}.
+     *
+     * @param clazz  the class.
+     * @param fields the fields the code is generated for.
+     * @return the declarations, empty if none are generated.
+     * @see #staleIndexNames(SourceClass, java.util.List)
+     */
+    public List<String> replacedDeclarations(SourceClass clazz, List<FieldElement> fields) {
+        List<String> declarations = new ArrayList<String>();
+        if (!isIndexed()) {
+            return declarations;
+        }
+        List<String> constants = propertyConstants(clazz, fields);
+        declarations.addAll(PropertyIndexes.declarations(constants));
+        for (AccessorStrategy strategy : strategies) {
+            if (strategy.isEnabled()) {
+                strategy.addReplacedDeclarations(clazz, constants, declarations);
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Get's the declarations of the members the generated code needs that the class is missing: the listener
+     * plumbing and the helper method looking up the handles of the atomic setters. The declarations use qualified
+     * class names.
+     *
+     * @param clazz  the class.
+     * @param fields the fields the code is generated for.
+     * @return the declarations, empty if none are missing.
+     */
+    public List<String> supportDeclarations(SourceClass clazz, List<FieldElement> fields) {
+        List<String> declarations = new ArrayList<String>();
+        for (AccessorStrategy strategy : strategies) {
+            if (strategy.isEnabled()) {
+                strategy.addSupportDeclarations(clazz, fields, declarations);
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Get's the member of the class that keeps the dispatcher from being generated, as the dispatcher plumbing is
+     * generated as a whole.
+     *
+     * @param clazz the class.
+     * @return the name of the member, null if the dispatcher is not generated or the class can have it.
+     */
+    @Nullable
+    public String dispatcherConflict(SourceClass clazz) {
+        return dispatcherStrategy.isEnabled() ? dispatcherStrategy.conflict(clazz) : null;
+    }
+
+    /**
+     * Get's the member of the class that keeps the dirty tracking from being generated, as the dirty members replace
+     * the existing ones.
+     *
+     * @param clazz the class.
+     * @return the name of the member, null if the dirty tracking is not generated or the class can have it.
+     */
+    @Nullable
+    public String dirtyConflict(SourceClass clazz) {
+        return dirtyTrackingStrategy.isEnabled() ? dirtyTrackingStrategy.conflict(clazz) : null;
+    }
+
+    /**
+     * Get's the javadoc of a member of the support declarations.
+     *
+     * @param memberName the name of the field or method.
+     * @return the javadoc, null if the member is not part of the support declarations.
+     * @see #supportDeclarations(SourceClass, java.util.List)
+     * @see #replacedDeclarations(SourceClass, java.util.List)
+     */
+    @Nullable
+    public String supportJavaDocText(String memberName) {
+        if (StringUtil.isPropertyIndexName(memberName)) {
+            return "/** Property index constant, the index of the property which never changes once declared. */";
+        }
+        for (AccessorStrategy strategy : strategies) {
+            String javaDoc = strategy.javaDocText(memberName);
+            if (javaDoc != null) {
+                return javaDoc;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get's the name of the getter of the field, {@code isXxx} for boolean fields.
+     *
+     * @param field the field.
+     * @return the getter name.
+     */
+    public String getterName(FieldElement field) {
+        if (field.isBoolean()) {
+            return StringUtil.generateGetterNameBoolean(field.getName());
+        }
+        return StringUtil.generateGetterNameGeneral(field.getName());
+    }
+
+    /**
+     * Get's the name of the setter of the field.
+     *
+     * @param field the field.
+     * @return the setter name.
+     */
+    public String setterName(FieldElement field) {
+        return StringUtil.generateSetterName(field.getName());
+    }
+
+    public String getterDeclaration(FieldElement field) {
+        StringBuilder sb = new StringBuilder(64);
+        appendGetter(sb, field);
+        return sb.toString();
+    }
+
+    public String setterDeclaration(FieldElement field) {
+        StringBuilder sb = new StringBuilder(128);
+        appendSetter(sb, field);
+        return sb.toString();
+    }
+
+    protected void appendGetter(StringBuilder sb, FieldElement field) {
+        GETTER.render(sb, getterName(field), field.getTypePresentableText(), field.getName());
+    }
+
+    protected void appendSetter(StringBuilder sb, FieldElement field) {
+        String type = field.getTypePresentableText();
+        String name = field.getName();
+        String constant = StringUtil.generatePropertyConstantName(name);
+        String key = fireKey(constant);
+        boolean primitive = isPrimitiveValue(field);
+        boolean floating = primitive && ("float".equals(type) || "double".equals(type));
+        String wrapper = primitive ? SourceType.getWrapperName(type) : null;
+
+        SETTER.render(sb, setterName(field), type, name);
+        if (isAtomic(field)) {
+            atomicSetterStrategy.appendSetterBody(sb, field);
+            return;
+        }
+        appendCheck(sb, field, "this." + name);
+        appendMark(sb, constant);
+
+        if (!isBound()) {
+            ASSIGN_BODY.render(sb, type, name);
+        } else if (!primitiveSetters || !primitive) {
+            OBJECT_BODY.render(sb, type, name, key);
+        } else if ("int".equals(type) || "boolean".equals(type)) {
+            TYPED_BODY.render(sb, type, name, key);
+        } else if (equalityCheck) {
+            BOXING_BODY.render(sb, type, name, key, wrapper);
+        } else if (floating) {
+            COMPARE_BOXING_BODY.render(sb, type, name, key, wrapper);
+        } else {
+            IDENTITY_BOXING_BODY.render(sb, type, name, key, wrapper);
+        }
+    }
+
+    /**
+     * Get's the javadoc of the accessors of the field.
+     *
+     * @param field the field.
+     * @return the javadoc.
+     */
+    public String javaDocText(FieldElement field) {
+        if (!isBound()) {
+            return "/** Property setter for {@code " + field.getName() + "}, marking it dirty. */";
+        }
+        return "/** Property bound setter for {@code " + field.getName() + "}. */";
+    }
+
+    /**
+     * Get's the javadocs of the members generated for the field.
+     *
+     * @param field    the field.
+     * @param javaDocs the javadocs by member name to add to.
+     */
+    public void addJavaDocTexts(FieldElement field, Map<String, String> javaDocs) {
+        String javaDoc = javaDocText(field);
+        javaDocs.put(getterName(field), javaDoc);
+        javaDocs.put(setterName(field), javaDoc);
+        if (isAtomic(field)) {
+            atomicSetterStrategy.addJavaDocTexts(field, javaDocs);
+        }
+    }
+
+    /**
+     * The code is generated if the setter exists, the getter may have been written by hand.
+     */
+    @Override
+    protected boolean isGenerated(SourceClass clazz, FieldElement field) {
+        return clazz.findAllMethodByName(setterName(field)) != null;
+    }
+
+    @Override
+    protected void addExisting(SourceClass clazz, FieldElement field, List<SourceMember> existing) {
+        SourceMethod getter = clazz.findMethodByName(getterName(field));
+        if (getter != null) {
+            existing.add(getter);
+        }
+        SourceMethod setter = clazz.findMethodByName(setterName(field));
+        if (setter != null) {
+            existing.add(setter);
+        }
+    }
+
+    @Override
+    protected void appendDeclarations(StringBuilder sb, FieldElement field) {
+        if (isAtomic(field)) {
+            atomicSetterStrategy.appendHandle(sb, field);
+            sb.append('\n');
+        }
+        appendGetter(sb, field);
+        sb.append('\n');
+        appendSetter(sb, field);
+        sb.append('\n');
+        if (isAtomic(field)) {
+            atomicSetterStrategy.appendCompareAndSet(sb, field);
+            sb.append('\n');
+        }
+    }
+
+    /**
+     * Appends the check returning if the value is unchanged, if the equality check is on. Primitives are compared
+     * using {@code ==}, floating point values using {@code compare} to match the {@code equals} check of the object
+     * overload, and objects using {@code Objects.equals}, or {@code ==} in the identity check mode.
+     */
+    void appendCheck(StringBuilder sb, FieldElement field, String old) {
+        if (!equalityCheck) {
+            return;
+        }
+        String type = field.getTypePresentableText();
+        if (isPrimitiveValue(field) && ("float".equals(type) || "double".equals(type))) {
+            COMPARE_CHECK.render(sb, old, field.getName(), SourceType.getWrapperName(type));
+        } else if (isPrimitiveValue(field) || identityCheck) {
+            IDENTITY_CHECK.render(sb, old, field.getName());
+        } else {
+            EQUALS_CHECK.render(sb, old, field.getName());
+        }
+    }
+
+    /**
+     * Appends marking the property dirty, if the dirty tracking is on.
+     */
+    void appendMark(StringBuilder sb, String constant) {
+        if (dirtyTrackingStrategy.isEnabled()) {
+            dirtyTrackingStrategy.appendMark(sb, constant);
+        }
+    }
+
+    /**
+     * Get's the constant the setters fire the events of the property with: the dispatcher takes the index of the
+     * property, {@code PropertyChangeSupport} the property name.
+     */
+    String fireKey(String constant) {
+        return dispatcherStrategy.isEnabled() ? StringUtil.generatePropertyIndexName(constant) : constant;
+    }
+
+    /**
+     * Is the value of the field a primitive? The primitive arrays are classified as primitive too, but they are
+     * objects.
+     */
+    private static boolean isPrimitiveValue(FieldElement field) {
+        return field.isPrimitive() && !field.isArray();
+    }
+
+    /**
+     * Are the index constants generated? The dispatcher and the dirty tracking use them.
+     */
+    private boolean isIndexed() {
+        for (AccessorStrategy strategy : strategies) {
+            if (strategy.isEnabled() && strategy.isIndexed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
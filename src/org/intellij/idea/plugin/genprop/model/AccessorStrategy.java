@@ -0,0 +1,92 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mode of the {@link AccessorPipeline}, generating the members its setters need besides the getters and setters.
+ * <p/> The pipeline renders the accessors and asks the enabled strategies for the other members, the hooks do nothing
+ * by default.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+abstract class AccessorStrategy {
+
+    protected final AccessorPipeline pipeline;
+
+    protected AccessorStrategy(AccessorPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Is the mode on in the settings of the pipeline?
+     */
+    abstract boolean isEnabled();
+
+    /**
+     * Does the mode use the property index constants? The index constants are then generated too.
+     */
+    boolean isIndexed() {
+        return false;
+    }
+
+    /**
+     * Adds the declarations derived from all the properties of the class, which must replace the existing ones.
+     *
+     * @param clazz            the class.
+     * @param constantsByIndex the property name constants by property index, see {@link PropertyIndexes}.
+     * @param declarations     the declarations to add to.
+     */
+    void addReplacedDeclarations(SourceClass clazz, List<String> constantsByIndex, List<String> declarations) {
+    }
+
+    /**
+     * Adds the declarations of the members the generated code needs that the class is missing.
+     *
+     * @param clazz        the class.
+     * @param fields       the fields the code is generated for.
+     * @param declarations the declarations to add to.
+     */
+    void addSupportDeclarations(SourceClass clazz, List<FieldElement> fields, List<String> declarations) {
+    }
+
+    /**
+     * Get's the member of the class that keeps the mode from being generated.
+     *
+     * @param clazz the class.
+     * @return the name of the member, null if the class can have the mode.
+     */
+    @Nullable
+    String conflict(SourceClass clazz) {
+        return null;
+    }
+
+    /**
+     * Get's the javadoc of a member the mode generates for all the properties.
+     *
+     * @param memberName the name of the field or method.
+     * @return the javadoc, null if the mode does not generate the member.
+     */
+    @Nullable
+    String javaDocText(String memberName) {
+        return null;
+    }
+
+    /**
+     * Does the class declare, or inherit if checking the bases, a method with the parameter types?
+     */
+    static boolean hasMethod(SourceClass clazz, String name, boolean checkBases, String... parameterTypes) {
+        List<String> signature = Arrays.asList(parameterTypes);
+        for (SourceMethod method : clazz.findMethodsByName(name, checkBases)) {
+            if (method.getParameterTypes().equals(signature)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
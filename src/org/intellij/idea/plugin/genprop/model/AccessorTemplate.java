@@ -0,0 +1,113 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A code template that is parsed once and rendered many times. <p/> The placeholders are the index of the argument in
+ * braces, etc. {@code {0}}, all other text including braces is copied as is, so the templates are plain java code:
+ * <pre>
+ * public {1} {0}() {
+ *     return {2};
+ * }
+ * </pre>
+ * Unlike {@link java.text.MessageFormat} the pattern is not parsed again for each rendering, and the template is
+ * rendered straight into the given builder.
+ *
+ * @author Thomas Edwin Santosa
+ * @see AccessorPipeline
+ * @since 0.16
+ */
+public final class AccessorTemplate {
+
+    private final String[] literals; // the text before each placeholder and the text after the last one
+    private final int[] arguments; // the argument index of each placeholder
+    private final int length; // the length of the literal text
+
+    private AccessorTemplate(String[] literals, int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+        int n = 0;
+        for (String literal : literals) {
+            n += literal.length();
+        }
+        this.length = n;
+    }
+
+    /**
+     * Parses the template.
+     *
+     * @param pattern the template text with placeholders.
+     * @return the parsed template.
+     */
+    public static AccessorTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<String>();
+        List<Integer> arguments = new ArrayList<Integer>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            int end = placeholderEnd(pattern, i);
+            if (end < 0) {
+                i++;
+                continue;
+            }
+            literals.add(pattern.substring(literalStart, i));
+            arguments.add(Integer.valueOf(pattern.substring(i + 1, end - 1)));
+            literalStart = end;
+            i = end;
+        }
+        literals.add(pattern.substring(literalStart));
+
+        int[] indexes = new int[arguments.size()];
+        for (int j = 0; j < indexes.length; j++) {
+            indexes[j] = arguments.get(j);
+        }
+        return new AccessorTemplate(literals.toArray(new String[literals.size()]), indexes);
+    }
+
+    /**
+     * Renders the template into the builder.
+     *
+     * @param sb   the builder to append to.
+     * @param args the arguments of the placeholders.
+     */
+    public void render(StringBuilder sb, String... args) {
+        sb.ensureCapacity(sb.length() + length + 16 * arguments.length);
+        for (int i = 0; i < arguments.length; i++) {
+            sb.append(literals[i]).append(args[arguments[i]]);
+        }
+        sb.append(literals[arguments.length]);
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param args the arguments of the placeholders.
+     * @return the rendered text.
+     */
+    public String render(String... args) {
+        StringBuilder sb = new StringBuilder(length + 16 * arguments.length);
+        render(sb, args);
+        return sb.toString();
+    }
+
+    /**
+     * Get's the end of the placeholder at the index.
+     *
+     * @return the index after the closing brace, -1 if there is no placeholder at the index.
+     */
+    private static int placeholderEnd(String pattern, int index) {
+        if (pattern.charAt(index) != '{') {
+            return -1;
+        }
+        int i = index + 1;
+        while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+            i++;
+        }
+        if (i == index + 1 || i == pattern.length() || pattern.charAt(i) != '}') {
+            return -1;
+        }
+        return i + 1;
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The atomic setters of volatile instance fields. <p/> The setters swap the value using a static {@code VarHandle},
+ * or an atomic field updater for older targets (only {@code int}, {@code long} and object fields), so the old value
+ * of the event is exact without a lock, and a {@code compareAndSet} method is generated too.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+class AtomicSetterStrategy
+        extends AccessorStrategy {
+
+    // {0} type, {1} field name, {2} property name or index constant, {3} the swap expression
+    private static final AccessorTemplate ATOMIC_SWAP = AccessorTemplate.compile("{0} old = {3};\n");
+    private static final AccessorTemplate ATOMIC_FIRE = AccessorTemplate.compile(
+            "firePropertyChange({2}, old, {1});\n}");
+    // {0} method name, {1} type, {2} field name, {3} property name or index constant, {4} the compare and set
+    // expression, {5} the name of the expected value, {6} marking the property dirty
+    private static final AccessorTemplate COMPARE_AND_SET = AccessorTemplate.compile(
+            "public boolean {0}({1} {5}, {1} {2}) {\n" +
+                    "if (!{4}) {\n" +
+                    "return false;\n" +
+                    "}\n" +
+                    "{6}" +
+                    "firePropertyChange({3}, {5}, {2});\n" +
+                    "return true;\n" +
+                    "}");
+    // {0} class name, {1} updater name, {2} field name, {3} erased field type
+    private static final AccessorTemplate INT_UPDATER = AccessorTemplate.compile(
+            "private static final java.util.concurrent.atomic.AtomicIntegerFieldUpdater<{0}> {1} =\n" +
+                    "java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater({0}.class, \"{2}\");");
+    private static final AccessorTemplate LONG_UPDATER = AccessorTemplate.compile(
+            "private static final java.util.concurrent.atomic.AtomicLongFieldUpdater<{0}> {1} =\n" +
+                    "java.util.concurrent.atomic.AtomicLongFieldUpdater.newUpdater({0}.class, \"{2}\");");
+    private static final AccessorTemplate REFERENCE_UPDATER = AccessorTemplate.compile(
+            "private static final java.util.concurrent.atomic.AtomicReferenceFieldUpdater<{0}, {3}> {1} =\n" +
+                    "java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater({0}.class, {3}.class, " +
+                    "\"{2}\");");
+
+    private static final String VAR_HANDLE_METHOD = "varHandle";
+
+    // looks up the handles of the class without naming it, the lookup class is the class calling lookup()
+    private static final String VAR_HANDLE_DECLARATION =
+            "private static java.lang.invoke.VarHandle " + VAR_HANDLE_METHOD + "(String name, Class<?> type) {\n" +
+                    "try {\n" +
+                    "java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();\n" +
+                    "return lookup.findVarHandle(lookup.lookupClass(), name, type);\n" +
+                    "} catch (ReflectiveOperationException e) {\n" +
+                    "throw new ExceptionInInitializerError(e);\n" +
+                    "}\n" +
+                    "}";
+    // {0} class name, {1} handle name, {2} field name, {3} erased field type
+    private static final AccessorTemplate VAR_HANDLE = AccessorTemplate.compile(
+            "private static final java.lang.invoke.VarHandle {1} = " + VAR_HANDLE_METHOD + "(\"{2}\", {3}.class);");
+
+    AtomicSetterStrategy(AccessorPipeline pipeline) {
+        super(pipeline);
+    }
+
+    @Override
+    boolean isEnabled() {
+        return pipeline.isAtomicSetters() && pipeline.isBound();
+    }
+
+    /**
+     * Is the setter of the field atomic? Only volatile instance fields are, and the atomic field updaters only exist
+     * for {@code int}, {@code long} and object fields.
+     */
+    boolean isAtomic(FieldElement field) {
+        if (!isEnabled() || !field.isModifierVolatile() || field.isModifierStatic()) {
+            return false;
+        }
+        String type = field.getTypePresentableText();
+        return pipeline.isVarHandles() || !field.isPrimitive() || "int".equals(type) || "long".equals(type);
+    }
+
+    /**
+     * Get's the name of the static {@code VarHandle} or atomic field updater of the field, etc. FIRST_NAME_HANDLE or
+     * FIRST_NAME_UPDATER.
+     */
+    String handleName(FieldElement field) {
+        return StringUtil.generateUpperCaseName(field.getName()) + (pipeline.isVarHandles() ? "_HANDLE" : "_UPDATER");
+    }
+
+    /**
+     * Get's the name of the {@code compareAndSet} method of the field.
+     */
+    String compareAndSetName(FieldElement field) {
+        String setterName = pipeline.setterName(field);
+        return "compareAnd" + setterName.substring(0, 1).toUpperCase() + setterName.substring(1);
+    }
+
+    /**
+     * The helper method looking up the handles, if any setter uses a {@code VarHandle}.
+     */
+    @Override
+    void addSupportDeclarations(SourceClass clazz, List<FieldElement> fields, List<String> declarations) {
+        if (!pipeline.isVarHandles() || clazz.findMethodByName(VAR_HANDLE_METHOD) != null) {
+            return;
+        }
+        for (FieldElement field : fields) {
+            if (isAtomic(field)) {
+                declarations.add(VAR_HANDLE_DECLARATION);
+                return;
+            }
+        }
+    }
+
+    @Override
+    String javaDocText(String memberName) {
+        return VAR_HANDLE_METHOD.equals(memberName) ? "/** Looks up the handle of a field of this class. */" : null;
+    }
+
+    /**
+     * Get's the javadocs of the handle and the {@code compareAndSet} method of the field.
+     */
+    void addJavaDocTexts(FieldElement field, Map<String, String> javaDocs) {
+        javaDocs.put(handleName(field), "/** The handle of {@code " + field.getName() + "} for its setters. */");
+        javaDocs.put(compareAndSetName(field),
+                "/** Property bound setter for {@code " + field.getName() + "} if it is the expected value. */");
+    }
+
+    /**
+     * Appends the body of the setter, swapping the value before checking and firing.
+     */
+    void appendSetterBody(StringBuilder sb, FieldElement field) {
+        String type = field.getTypePresentableText();
+        String name = field.getName();
+        String constant = StringUtil.generatePropertyConstantName(name);
+        String key = pipeline.fireKey(constant);
+        ATOMIC_SWAP.render(sb, type, name, key, swapExpression(field, "getAndSet(this, " + name + ")"));
+        pipeline.appendCheck(sb, field, "old");
+        pipeline.appendMark(sb, constant);
+        ATOMIC_FIRE.render(sb, type, name, key);
+    }
+
+    /**
+     * Appends the static handle of the setter.
+     */
+    void appendHandle(StringBuilder sb, FieldElement field) {
+        String className = pipeline.getClassName();
+        String type = field.getTypeErasedText();
+        if (pipeline.isVarHandles()) {
+            VAR_HANDLE.render(sb, className, handleName(field), field.getName(), type);
+        } else if ("int".equals(type)) {
+            INT_UPDATER.render(sb, className, handleName(field), field.getName(), type);
+        } else if ("long".equals(type)) {
+            LONG_UPDATER.render(sb, className, handleName(field), field.getName(), type);
+        } else {
+            REFERENCE_UPDATER.render(sb, className, handleName(field), field.getName(), type);
+        }
+    }
+
+    /**
+     * Appends the {@code compareAndSet} method of the setter.
+     */
+    void appendCompareAndSet(StringBuilder sb, FieldElement field) {
+        String name = field.getName();
+        String expected = "expected".equals(name) ? "expectedValue" : "expected";
+        String constant = StringUtil.generatePropertyConstantName(name);
+        StringBuilder mark = new StringBuilder();
+        pipeline.appendMark(mark, constant);
+        String compareAndSet = swapExpression(field, "compareAndSet(this, " + expected + ", " + name + ")");
+        COMPARE_AND_SET.render(sb, compareAndSetName(field), field.getTypePresentableText(), name,
+                pipeline.fireKey(constant), compareAndSet, expected, mark.toString());
+    }
+
+    /**
+     * Get's the expression invoking the method of the handle, the {@code VarHandle} result is cast to the type of the
+     * field, and so is the updater result for a type variable, which the updater holds by its bound.
+     */
+    private String swapExpression(FieldElement field, String invocation) {
+        String expression = handleName(field) + "." + invocation;
+        String type = field.getTypePresentableText();
+        boolean typeVariable = !SourceType.erasure(type).equals(field.getTypeErasedText());
+        if ((pipeline.isVarHandles() || typeVariable) && invocation.startsWith("getAndSet")) {
+            return "(" + type + ") " + expression;
+        }
+        return expression;
+    }
+
+}
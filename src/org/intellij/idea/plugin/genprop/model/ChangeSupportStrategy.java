@@ -0,0 +1,112 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The listener plumbing of the bound setters using a {@code PropertyChangeSupport}. <p/> The support is created when
+ * the first listener is added, so until then firing an event is a single null check; the field is volatile and the
+ * support created with a double check, so adding listeners is thread-safe.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+class ChangeSupportStrategy
+        extends AccessorStrategy {
+
+    private static final String CHANGE_SUPPORT_FIELD = "changeSupport";
+    static final String ADD_LISTENER_METHOD = "addPropertyChangeListener";
+    static final String REMOVE_LISTENER_METHOD = "removePropertyChangeListener";
+    static final String FIRE_METHOD = "firePropertyChange";
+
+    private static final String SUPPORT_TYPE = "java.beans.PropertyChangeSupport";
+
+    // volatile and created with a double check, so concurrently added first listeners share the support
+    private static final String CHANGE_SUPPORT_DECLARATION =
+            "private transient volatile " + SUPPORT_TYPE + " " + CHANGE_SUPPORT_FIELD + ";";
+    private static final String ADD_LISTENER_DECLARATION =
+            "public void " + ADD_LISTENER_METHOD + "(java.beans.PropertyChangeListener listener) {\n" +
+                    SUPPORT_TYPE + " support = " + CHANGE_SUPPORT_FIELD + ";\n" +
+                    "if (support == null) {\n" +
+                    "synchronized (this) {\n" +
+                    "support = " + CHANGE_SUPPORT_FIELD + ";\n" +
+                    "if (support == null) {\n" +
+                    "support = new " + SUPPORT_TYPE + "(this);\n" +
+                    CHANGE_SUPPORT_FIELD + " = support;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "}\n" +
+                    "support." + ADD_LISTENER_METHOD + "(listener);\n" +
+                    "}";
+    private static final String REMOVE_LISTENER_DECLARATION =
+            "public void " + REMOVE_LISTENER_METHOD + "(java.beans.PropertyChangeListener listener) {\n" +
+                    SUPPORT_TYPE + " support = " + CHANGE_SUPPORT_FIELD + ";\n" +
+                    "if (support != null) {\n" +
+                    "support." + REMOVE_LISTENER_METHOD + "(listener);\n" +
+                    "}\n" +
+                    "}";
+
+    // {0} value type
+    private static final AccessorTemplate FIRE = AccessorTemplate.compile(
+            "private void " + FIRE_METHOD + "(String propertyName, {0} oldValue, {0} newValue) {\n" +
+                    SUPPORT_TYPE + " support = " + CHANGE_SUPPORT_FIELD + ";\n" +
+                    "if (support != null) {\n" +
+                    "support." + FIRE_METHOD + "(propertyName, oldValue, newValue);\n" +
+                    "}\n" +
+                    "}");
+
+    // the listener methods are shared with the dispatcher
+    private static final Map<String, String> JAVADOCS = new HashMap<String, String>();
+
+    static {
+        JAVADOCS.put(CHANGE_SUPPORT_FIELD,
+                "/** The support of the bound properties, created when the first listener is added. */");
+        JAVADOCS.put(ADD_LISTENER_METHOD, "/** Adds a listener of the bound properties. */");
+        JAVADOCS.put(REMOVE_LISTENER_METHOD, "/** Removes a listener of the bound properties. */");
+        JAVADOCS.put(FIRE_METHOD, "/** Fires a property change event if there are listeners. */");
+    }
+
+    ChangeSupportStrategy(AccessorPipeline pipeline) {
+        super(pipeline);
+    }
+
+    @Override
+    boolean isEnabled() {
+        return pipeline.isChangeSupport() && !pipeline.isDispatcher() && pipeline.isBound();
+    }
+
+    /**
+     * The methods are only generated if the class does not declare or inherit a method of the same name, and the
+     * field only if a method is generated.
+     */
+    @Override
+    void addSupportDeclarations(SourceClass clazz, List<FieldElement> fields, List<String> declarations) {
+        int first = declarations.size();
+        if (clazz.findAllMethodByName(ADD_LISTENER_METHOD) == null) {
+            declarations.add(ADD_LISTENER_DECLARATION);
+        }
+        if (clazz.findAllMethodByName(REMOVE_LISTENER_METHOD) == null) {
+            declarations.add(REMOVE_LISTENER_DECLARATION);
+        }
+        if (clazz.findAllMethodByName(FIRE_METHOD) == null) {
+            declarations.add(FIRE.render("Object"));
+            if (pipeline.isPrimitiveSetters()) {
+                // the overloads the typed setters use
+                declarations.add(FIRE.render("int"));
+                declarations.add(FIRE.render("boolean"));
+            }
+        }
+        if (declarations.size() > first && clazz.findFieldByName(CHANGE_SUPPORT_FIELD) == null) {
+            declarations.add(first, CHANGE_SUPPORT_DECLARATION);
+        }
+    }
+
+    @Override
+    String javaDocText(String memberName) {
+        return JAVADOCS.get(memberName);
+    }
+
+}
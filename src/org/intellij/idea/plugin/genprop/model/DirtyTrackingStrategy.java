@@ -0,0 +1,140 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dirty tracking of the setters. <p/> The setters set the bit of the property in a {@code long} mask, or an array
+ * of masks for more than 64 properties, so a persistence layer finds the changed properties without any event
+ * objects. The bit is the {@code PROPERTYINDEX_} constant of the property. The mask members are generated again with
+ * each run, the setters mark the bit using {@code markDirty(int)}, so the setters generated before still compile when
+ * the mask becomes an array. The mask is not updated atomically.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+class DirtyTrackingStrategy
+        extends AccessorStrategy {
+
+    private static final String DIRTY_FIELD = "dirtyProperties";
+    private static final String IS_DIRTY_METHOD = "isDirty";
+    private static final String DIRTY_MASK_METHOD = "dirtyMask";
+    private static final String CLEAR_DIRTY_METHOD = "clearDirty";
+    private static final String MARK_DIRTY_METHOD = "markDirty";
+
+    // {0} index constant name; the same for the mask and the array of masks, only the mark method differs
+    private static final AccessorTemplate DIRTY_MARK = AccessorTemplate.compile(MARK_DIRTY_METHOD + "({0});\n");
+
+    private static final String[] DIRTY_DECLARATIONS = {
+            "private long " + DIRTY_FIELD + ";",
+            "private void " + MARK_DIRTY_METHOD + "(int index) {\n" +
+                    DIRTY_FIELD + " |= 1L << index;\n" +
+                    "}",
+            "public boolean " + IS_DIRTY_METHOD + "(int index) {\n" +
+                    "return (" + DIRTY_FIELD + " & 1L << index) != 0;\n" +
+                    "}",
+            "public long[] " + DIRTY_MASK_METHOD + "() {\n" +
+                    "return new long[] {" + DIRTY_FIELD + "};\n" +
+                    "}",
+            "public void " + CLEAR_DIRTY_METHOD + "() {\n" +
+                    DIRTY_FIELD + " = 0L;\n" +
+                    "}"
+    };
+    // {0} number of masks
+    private static final AccessorTemplate DIRTY_WORDS = AccessorTemplate.compile(
+            "private final long[] " + DIRTY_FIELD + " = new long[{0}];");
+    private static final String[] DIRTY_WORDS_DECLARATIONS = {
+            "private void " + MARK_DIRTY_METHOD + "(int index) {\n" +
+                    DIRTY_FIELD + "[index >>> 6] |= 1L << index;\n" +
+                    "}",
+            "public boolean " + IS_DIRTY_METHOD + "(int index) {\n" +
+                    "return (" + DIRTY_FIELD + "[index >>> 6] & 1L << index) != 0;\n" +
+                    "}",
+            "public long[] " + DIRTY_MASK_METHOD + "() {\n" +
+                    "return " + DIRTY_FIELD + ".clone();\n" +
+                    "}",
+            "public void " + CLEAR_DIRTY_METHOD + "() {\n" +
+                    "java.util.Arrays.fill(" + DIRTY_FIELD + ", 0L);\n" +
+                    "}"
+    };
+
+    private static final Map<String, String> JAVADOCS = new HashMap<String, String>();
+
+    static {
+        JAVADOCS.put(DIRTY_FIELD, "/** The bits of the properties changed since the last clear. */");
+        JAVADOCS.put(MARK_DIRTY_METHOD, "/** Marks the property of the index as changed. */");
+        JAVADOCS.put(IS_DIRTY_METHOD, "/** Has the property of the index changed since the last clear? */");
+        JAVADOCS.put(DIRTY_MASK_METHOD,
+                "/** Get's a copy of the bits of the changed properties, 64 per element by property index. */");
+        JAVADOCS.put(CLEAR_DIRTY_METHOD, "/** Marks all the properties as unchanged. */");
+    }
+
+    DirtyTrackingStrategy(AccessorPipeline pipeline) {
+        super(pipeline);
+    }
+
+    @Override
+    boolean isEnabled() {
+        return pipeline.isDirtyTracking();
+    }
+
+    @Override
+    boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * The mask members, a mask or an array of masks depending on the number of properties. The existing methods must
+     * be matched by signature, see {@link #conflict(SourceClass)}.
+     */
+    @Override
+    void addReplacedDeclarations(SourceClass clazz, List<String> constantsByIndex, List<String> declarations) {
+        if (constantsByIndex.size() <= 64) {
+            declarations.addAll(Arrays.asList(DIRTY_DECLARATIONS));
+        } else {
+            declarations.add(DIRTY_WORDS.render(String.valueOf((constantsByIndex.size() + 63) / 64)));
+            declarations.addAll(Arrays.asList(DIRTY_WORDS_DECLARATIONS));
+        }
+    }
+
+    /**
+     * The mask members replace the existing ones, so a class must only have them if they were generated: a class
+     * without the mask field that declares a method with the signature of a mask member, or with a mask field of
+     * another type, has members of its own.
+     */
+    @Override
+    String conflict(SourceClass clazz) {
+        SourceField mask = clazz.findFieldByName(DIRTY_FIELD);
+        if (mask != null) {
+            String type = mask.getType().getCanonicalText();
+            return "long".equals(type) || "long[]".equals(type) ? null : DIRTY_FIELD;
+        }
+        if (hasMethod(clazz, MARK_DIRTY_METHOD, false, "int")) {
+            return MARK_DIRTY_METHOD;
+        } else if (hasMethod(clazz, IS_DIRTY_METHOD, false, "int")) {
+            return IS_DIRTY_METHOD;
+        } else if (hasMethod(clazz, DIRTY_MASK_METHOD, false)) {
+            return DIRTY_MASK_METHOD;
+        } else if (hasMethod(clazz, CLEAR_DIRTY_METHOD, false)) {
+            return CLEAR_DIRTY_METHOD;
+        }
+        return null;
+    }
+
+    @Override
+    String javaDocText(String memberName) {
+        return JAVADOCS.get(memberName);
+    }
+
+    /**
+     * Appends marking the property of the name constant dirty.
+     */
+    void appendMark(StringBuilder sb, String constant) {
+        DIRTY_MARK.render(sb, StringUtil.generatePropertyIndexName(constant));
+    }
+
+}
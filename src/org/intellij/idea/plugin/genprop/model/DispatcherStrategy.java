@@ -0,0 +1,255 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The listener plumbing of the bound setters as a dispatcher specialized to the properties of the class. <p/> The
+ * listeners are kept in a copy-on-write array per property, indexed by the {@code PROPERTYINDEX_} constant of the
+ * property, so firing takes no lock, does not look up the name and only creates the event if the property has
+ * listeners. The {@code PROPERTY_NAMES} table maps the indexes back to the names and is generated again with each run.
+ * Adding a listener of an unknown property name throws.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+class DispatcherStrategy
+        extends AccessorStrategy {
+
+    private static final String PROPERTY_NAMES_FIELD = "PROPERTY_NAMES";
+    private static final String NO_LISTENERS_FIELD = "NO_LISTENERS";
+    private static final String LISTENERS_FIELD = "propertyListeners";
+    private static final String ADD_PROPERTY_LISTENER_METHOD = "addPropertyListener";
+    private static final String REMOVE_PROPERTY_LISTENER_METHOD = "removePropertyListener";
+    private static final String ORDINAL_METHOD = "propertyOrdinal";
+
+    // the methods of the PropertyChangeSupport plumbing are kept, so the callers are the same
+    private static final String ADD_LISTENER_METHOD = ChangeSupportStrategy.ADD_LISTENER_METHOD;
+    private static final String REMOVE_LISTENER_METHOD = ChangeSupportStrategy.REMOVE_LISTENER_METHOD;
+    private static final String FIRE_METHOD = ChangeSupportStrategy.FIRE_METHOD;
+
+    private static final String LISTENER_TYPE = "java.beans.PropertyChangeListener";
+    private static final String OBJECT_TYPE = "java.lang.Object";
+
+    // the members of the dispatcher plumbing besides the fire methods
+    private static final String[] METHODS = {ADD_LISTENER_METHOD, REMOVE_LISTENER_METHOD,
+            ADD_PROPERTY_LISTENER_METHOD, REMOVE_PROPERTY_LISTENER_METHOD, ORDINAL_METHOD};
+    private static final String[] FIELDS = {LISTENERS_FIELD, NO_LISTENERS_FIELD};
+
+    private static final String NO_LISTENERS_DECLARATION =
+            "private static final " + LISTENER_TYPE + "[] " + NO_LISTENERS_FIELD + " = {};";
+    // the listeners of each property by ordinal and the listeners of all the properties last, copy-on-write
+    private static final String LISTENERS_DECLARATION =
+            "private transient volatile " + LISTENER_TYPE + "[][] " + LISTENERS_FIELD + ";";
+    private static final String[] ADD_DECLARATIONS = {
+            "public void " + ADD_LISTENER_METHOD + "(" + LISTENER_TYPE + " listener) {\n" +
+                    ADD_PROPERTY_LISTENER_METHOD + "(" + PROPERTY_NAMES_FIELD + ".length, listener);\n" +
+                    "}",
+            "public void " + ADD_LISTENER_METHOD + "(String propertyName, " + LISTENER_TYPE + " listener) {\n" +
+                    "int ordinal = " + ORDINAL_METHOD + "(propertyName);\n" +
+                    "if (ordinal < 0) {\n" +
+                    "throw new IllegalArgumentException(\"Unknown property: \" + propertyName);\n" +
+                    "}\n" +
+                    ADD_PROPERTY_LISTENER_METHOD + "(ordinal, listener);\n" +
+                    "}",
+            "private synchronized void " + ADD_PROPERTY_LISTENER_METHOD + "(int ordinal, " + LISTENER_TYPE +
+                    " listener) {\n" +
+                    "if (listener == null) {\n" +
+                    "return;\n" +
+                    "}\n" +
+                    LISTENER_TYPE + "[][] listeners = " + LISTENERS_FIELD + ";\n" +
+                    "if (listeners == null) {\n" +
+                    "listeners = new " + LISTENER_TYPE + "[" + PROPERTY_NAMES_FIELD + ".length + 1][];\n" +
+                    "java.util.Arrays.fill(listeners, " + NO_LISTENERS_FIELD + ");\n" +
+                    "} else {\n" +
+                    "listeners = listeners.clone();\n" +
+                    "}\n" +
+                    LISTENER_TYPE + "[] old = listeners[ordinal];\n" +
+                    LISTENER_TYPE + "[] added = java.util.Arrays.copyOf(old, old.length + 1);\n" +
+                    "added[old.length] = listener;\n" +
+                    "listeners[ordinal] = added;\n" +
+                    LISTENERS_FIELD + " = listeners;\n" +
+                    "}"
+    };
+    private static final String[] REMOVE_DECLARATIONS = {
+            "public void " + REMOVE_LISTENER_METHOD + "(" + LISTENER_TYPE + " listener) {\n" +
+                    REMOVE_PROPERTY_LISTENER_METHOD + "(" + PROPERTY_NAMES_FIELD + ".length, listener);\n" +
+                    "}",
+            "public void " + REMOVE_LISTENER_METHOD + "(String propertyName, " + LISTENER_TYPE + " listener) {\n" +
+                    "int ordinal = " + ORDINAL_METHOD + "(propertyName);\n" +
+                    "if (ordinal < 0) {\n" +
+                    "throw new IllegalArgumentException(\"Unknown property: \" + propertyName);\n" +
+                    "}\n" +
+                    REMOVE_PROPERTY_LISTENER_METHOD + "(ordinal, listener);\n" +
+                    "}",
+            "private synchronized void " + REMOVE_PROPERTY_LISTENER_METHOD + "(int ordinal, " + LISTENER_TYPE +
+                    " listener) {\n" +
+                    LISTENER_TYPE + "[][] listeners = " + LISTENERS_FIELD + ";\n" +
+                    "if (listeners == null || listener == null) {\n" +
+                    "return;\n" +
+                    "}\n" +
+                    LISTENER_TYPE + "[] old = listeners[ordinal];\n" +
+                    "for (int i = 0; i < old.length; i++) {\n" +
+                    "if (listener.equals(old[i])) {\n" +
+                    LISTENER_TYPE + "[] removed = new " + LISTENER_TYPE + "[old.length - 1];\n" +
+                    "System.arraycopy(old, 0, removed, 0, i);\n" +
+                    "System.arraycopy(old, i + 1, removed, i, removed.length - i);\n" +
+                    "listeners = listeners.clone();\n" +
+                    "listeners[ordinal] = removed;\n" +
+                    LISTENERS_FIELD + " = listeners;\n" +
+                    "return;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "}"
+    };
+    private static final String[] FIRE_DECLARATIONS = {
+            "private void " + FIRE_METHOD + "(int ordinal, Object oldValue, Object newValue) {\n" +
+                    LISTENER_TYPE + "[][] listeners = " + LISTENERS_FIELD + ";\n" +
+                    "if (listeners == null) {\n" +
+                    "return;\n" +
+                    "}\n" +
+                    LISTENER_TYPE + "[] named = listeners[ordinal];\n" +
+                    LISTENER_TYPE + "[] all = listeners[" + PROPERTY_NAMES_FIELD + ".length];\n" +
+                    "if (named.length + all.length == 0 " +
+                    "|| oldValue != null && newValue != null && oldValue.equals(newValue)) {\n" +
+                    "return;\n" +
+                    "}\n" +
+                    "java.beans.PropertyChangeEvent event = " +
+                    "new java.beans.PropertyChangeEvent(this, " + PROPERTY_NAMES_FIELD +
+                    "[ordinal], oldValue, newValue);\n" +
+                    "for (" + LISTENER_TYPE + " listener : all) {\n" +
+                    "listener.propertyChange(event);\n" +
+                    "}\n" +
+                    "for (" + LISTENER_TYPE + " listener : named) {\n" +
+                    "listener.propertyChange(event);\n" +
+                    "}\n" +
+                    "}",
+            "private static int " + ORDINAL_METHOD + "(String propertyName) {\n" +
+                    "if (propertyName == null) {\n" +
+                    "return -1;\n" +
+                    "}\n" +
+                    "for (int i = 0; i < " + PROPERTY_NAMES_FIELD + ".length; i++) {\n" +
+                    "if (" + PROPERTY_NAMES_FIELD + "[i] == propertyName) {\n" +
+                    "return i;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "for (int i = 0; i < " + PROPERTY_NAMES_FIELD + ".length; i++) {\n" +
+                    "if (propertyName.equals(" + PROPERTY_NAMES_FIELD + "[i])) {\n" +
+                    "return i;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "return -1;\n" +
+                    "}"
+    };
+
+    // {0} value type, {1} wrapper type; the overloads of the typed setters, only boxing if there are listeners
+    private static final AccessorTemplate TYPED_FIRE = AccessorTemplate.compile(
+            "private void " + FIRE_METHOD + "(int ordinal, {0} oldValue, {0} newValue) {\n" +
+                    "if (" + LISTENERS_FIELD + " != null && oldValue != newValue) {\n" +
+                    FIRE_METHOD + "(ordinal, {1}.valueOf(oldValue), {1}.valueOf(newValue));\n" +
+                    "}\n" +
+                    "}");
+
+    private static final Map<String, String> JAVADOCS = new HashMap<String, String>();
+
+    static {
+        JAVADOCS.put(PROPERTY_NAMES_FIELD, "/** The property names by property index, null for an unused index. */");
+        JAVADOCS.put(NO_LISTENERS_FIELD, "/** The empty listener array. */");
+        JAVADOCS.put(LISTENERS_FIELD,
+                "/** The listeners by property ordinal followed by the listeners of all the properties, " +
+                        "replaced when changed. */");
+        JAVADOCS.put(ADD_PROPERTY_LISTENER_METHOD, "/** Adds a listener of the property ordinal. */");
+        JAVADOCS.put(REMOVE_PROPERTY_LISTENER_METHOD, "/** Removes a listener of the property ordinal. */");
+        JAVADOCS.put(ORDINAL_METHOD, "/** Get's the ordinal of the property name, -1 if unknown. */");
+    }
+
+    DispatcherStrategy(AccessorPipeline pipeline) {
+        super(pipeline);
+    }
+
+    @Override
+    boolean isEnabled() {
+        return pipeline.isChangeSupport() && pipeline.isDispatcher() && pipeline.isBound();
+    }
+
+    @Override
+    boolean isIndexed() {
+        return true;
+    }
+
+    /**
+     * The property names table lists all the properties of the class by index, null for an unused index. The names
+     * are qualified with the class name, as the constants may be declared after the table.
+     */
+    @Override
+    void addReplacedDeclarations(SourceClass clazz, List<String> constantsByIndex, List<String> declarations) {
+        StringBuilder sb = new StringBuilder(64 + 32 * constantsByIndex.size());
+        sb.append("private static final String[] ").append(PROPERTY_NAMES_FIELD).append(" = {");
+        for (int i = 0; i < constantsByIndex.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (constantsByIndex.get(i) == null) {
+                sb.append("null");
+            } else {
+                sb.append(pipeline.getClassName()).append('.').append(constantsByIndex.get(i));
+            }
+        }
+        declarations.add(sb.append("};").toString());
+    }
+
+    /**
+     * The plumbing is generated as a whole, see {@link #conflict(SourceClass)}, except the typed fire overloads the
+     * class is missing.
+     */
+    @Override
+    void addSupportDeclarations(SourceClass clazz, List<FieldElement> fields, List<String> declarations) {
+        if (!hasMethod(clazz, FIRE_METHOD, false, "int", OBJECT_TYPE, OBJECT_TYPE)) {
+            declarations.add(NO_LISTENERS_DECLARATION);
+            declarations.add(LISTENERS_DECLARATION);
+            declarations.addAll(Arrays.asList(ADD_DECLARATIONS));
+            declarations.addAll(Arrays.asList(REMOVE_DECLARATIONS));
+            declarations.addAll(Arrays.asList(FIRE_DECLARATIONS));
+        }
+        if (pipeline.isPrimitiveSetters()) {
+            if (!hasMethod(clazz, FIRE_METHOD, false, "int", "int", "int")) {
+                declarations.add(TYPED_FIRE.render("int", "Integer"));
+            }
+            if (!hasMethod(clazz, FIRE_METHOD, false, "int", "boolean", "boolean")) {
+                declarations.add(TYPED_FIRE.render("boolean", "Boolean"));
+            }
+        }
+    }
+
+    /**
+     * A class that declares or inherits a member of the plumbing without the int-keyed fire method the setters call
+     * has listener plumbing the dispatcher can't be mixed with.
+     */
+    @Override
+    String conflict(SourceClass clazz) {
+        if (hasMethod(clazz, FIRE_METHOD, false, "int", OBJECT_TYPE, OBJECT_TYPE)) {
+            return null;
+        }
+        for (String name : METHODS) {
+            if (!clazz.findMethodsByName(name, true).isEmpty()) {
+                return name;
+            }
+        }
+        for (String name : FIELDS) {
+            if (clazz.findAllFieldByName(name) != null) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    String javaDocText(String memberName) {
+        return JAVADOCS.get(memberName);
+    }
+
+}
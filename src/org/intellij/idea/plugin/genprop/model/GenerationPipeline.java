@@ -0,0 +1,157 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.config.FilterPattern;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.element.MethodElement;
+import org.intellij.idea.plugin.genprop.element.SourceElementFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The steps of generating code that does not need PSI: filtering the members of the class, preselecting the fields
+ * to generate code for, finding the existing members the generated code conflicts with and building the text of the
+ * declarations. <p/> The pipeline runs on the {@link SourceClass source model}, so it runs the same on a class in the
+ * editor and on a class built in memory. The action handlers only parse the declarations and insert them into the
+ * class.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public abstract class GenerationPipeline {
+
+    /**
+     * Filters the fields of the class using the filter pattern of the settings.
+     *
+     * @param clazz   the class to filter it's fields.
+     * @param pattern the filter pattern to filter out unwanted fields.
+     * @return the fields available after the filter process.
+     */
+    public List<SourceField> filterFields(SourceClass clazz, FilterPattern pattern) {
+        List<? extends SourceField> fields = clazz.getFields();
+        List<SourceField> available = new ArrayList<SourceField>(fields.size());
+        for (SourceField field : fields) {
+            // if the field matches the pattern then it shouldn't be in the list of avaialble fields
+            if (!SourceElementFactory.newFieldElement(field).applyFilter(pattern)) {
+                available.add(field);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Filters the methods of the class to be <ul> <li/>a getter method (java bean compliant) <li/>should not be a getter
+     * for an existing field <li/>public, non static, non abstract <ul/>
+     *
+     * @param clazz   the class to filter it's methods.
+     * @param pattern the filter pattern to filter out unwanted methods.
+     * @return the methods available after the filter process.
+     */
+    public List<SourceMethod> filterMethods(SourceClass clazz, FilterPattern pattern) {
+        List<SourceMethod> available = new ArrayList<SourceMethod>();
+        for (SourceMethod method : clazz.getMethods()) {
+            MethodElement me = SourceElementFactory.newMethodElement(method);
+
+            // the method should be a getter that does not return void
+            if (!me.isGetter() || me.isReturnTypeVoid()) {
+                continue;
+            }
+
+            // method should be public, non static, non abstract
+            if (!me.isModifierPublic() || me.isModifierStatic() || me.isModifierAbstract()) {
+                continue;
+            }
+
+            // method should not be a getter for an existing field
+            if (clazz.findFieldByName(me.getFieldName()) != null) {
+                continue;
+            }
+
+            // must not be named toString or getClass
+            if ("toString".equals(me.getMethodName()) || "getClass".equals(me.getMethodName())) {
+                continue;
+            }
+
+            // if the method matches the pattern then it shouldn't be in the list of avaialble methods
+            if (!me.applyFilter(pattern)) {
+                available.add(method);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Preselects the fields that the code has not been generated for in the class or its super classes.
+     *
+     * @param clazz  the class.
+     * @param fields the available fields.
+     * @return the fields to preselect.
+     */
+    public <T extends SourceField> List<T> preselect(SourceClass clazz, Collection<T> fields) {
+        List<T> preselected = new ArrayList<T>(fields.size());
+        for (T field : fields) {
+            if (!isGenerated(clazz, SourceElementFactory.newFieldElement(field))) {
+                preselected.add(field);
+            }
+        }
+        return preselected;
+    }
+
+    /**
+     * Finds the members declared in the class the code generated for the fields conflicts with. <p/> The conflict
+     * resolution policy decides what to do with them, if there is no conflict the code is just added.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the conflicting members, empty if there is no conflict.
+     */
+    public List<SourceMember> findConflicts(SourceClass clazz, Collection<? extends SourceField> fields) {
+        List<SourceMember> conflicts = new ArrayList<SourceMember>();
+        for (SourceField field : fields) {
+            addExisting(clazz, SourceElementFactory.newFieldElement(field), conflicts);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Builds the text of the declarations generated for the fields, as one batch to be parsed at once.
+     *
+     * @param fields the fields to generate code for.
+     * @return the declarations.
+     */
+    public String declarationText(List<FieldElement> fields) {
+        StringBuilder sb = new StringBuilder(fields.size() * 128);
+        for (FieldElement field : fields) {
+            appendDeclarations(sb, field);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Has the code already been generated for the field in the class or its super classes?
+     *
+     * @param clazz the class.
+     * @param field the field.
+     * @return true if it has been generated.
+     */
+    protected abstract boolean isGenerated(SourceClass clazz, FieldElement field);
+
+    /**
+     * Adds the members declared in the class with the names of the code generated for the field.
+     *
+     * @param clazz    the class.
+     * @param field    the field.
+     * @param existing the list to add the existing members to.
+     */
+    protected abstract void addExisting(SourceClass clazz, FieldElement field, List<SourceMember> existing);
+
+    /**
+     * Appends the declarations generated for the field, each declaration ends with a new line.
+     *
+     * @param sb    the buffer to append to.
+     * @param field the field.
+     */
+    protected abstract void appendDeclarations(StringBuilder sb, FieldElement field);
+
+}
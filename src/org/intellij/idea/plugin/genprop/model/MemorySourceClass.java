@@ -0,0 +1,126 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class built in memory, used to run the generation pipeline without a running IDEA such as in benchmarks and load
+ * tests. <p/> The members are indexed by name as they are added, the inherited members are looked up in the super
+ * class.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class MemorySourceClass
+        implements SourceClass {
+
+    private final String qualifiedName;
+    private final SourceClass superClass;
+    private final List<SourceField> fields = new ArrayList<SourceField>();
+    private final List<SourceMethod> methods = new ArrayList<SourceMethod>();
+    private final Map<String, SourceField> fieldsByName = new HashMap<String, SourceField>();
+    private final Map<String, SourceMethod> methodsByName = new HashMap<String, SourceMethod>();
+
+    /**
+     * Constructor.
+     *
+     * @param qualifiedName the fully qualified name of the class.
+     * @param superClass    the super class, null if the class does not extend another class in the model.
+     */
+    public MemorySourceClass(String qualifiedName, @Nullable SourceClass superClass) {
+        this.qualifiedName = qualifiedName;
+        this.superClass = superClass;
+    }
+
+    public String getName() {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    @Nullable
+    public SourceClass getSuperClass() {
+        return superClass;
+    }
+
+    /**
+     * Adds a field to the class.
+     *
+     * @param field the field.
+     */
+    public void addField(SourceField field) {
+        fields.add(field);
+        fieldsByName.put(field.getName(), field); // the last field of the name wins
+    }
+
+    /**
+     * Adds a method to the class.
+     *
+     * @param method the method.
+     */
+    public void addMethod(SourceMethod method) {
+        methods.add(method);
+        methodsByName.put(method.getName(), method); // the last method of the name wins
+    }
+
+    public List<SourceField> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    public List<SourceMethod> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    @Nullable
+    public SourceField findFieldByName(String name) {
+        return fieldsByName.get(name);
+    }
+
+    @Nullable
+    public SourceField findAllFieldByName(String name) {
+        SourceField field = fieldsByName.get(name);
+        if (field == null && superClass != null) {
+            field = superClass.findAllFieldByName(name);
+        }
+        return field;
+    }
+
+    @Nullable
+    public SourceMethod findMethodByName(String name) {
+        return methodsByName.get(name);
+    }
+
+    @Nullable
+    public SourceMethod findAllMethodByName(String name) {
+        SourceMethod method = methodsByName.get(name);
+        if (method == null && superClass != null) {
+            method = superClass.findAllMethodByName(name);
+        }
+        return method;
+    }
+
+    public List<SourceMethod> findMethodsByName(String name, boolean checkBases) {
+        List<SourceMethod> found = new ArrayList<SourceMethod>();
+        for (SourceMethod method : methods) {
+            if (method.getName().equals(name)) {
+                found.add(method);
+            }
+        }
+        if (checkBases && superClass != null) {
+            found.addAll(superClass.findMethodsByName(name, true));
+        }
+        return found;
+    }
+
+    public String toString() {
+        return qualifiedName;
+    }
+
+}
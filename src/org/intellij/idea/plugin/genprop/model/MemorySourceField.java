@@ -0,0 +1,68 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A field of a class built in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @see MemorySourceClass
+ * @since 0.16
+ */
+public class MemorySourceField
+        implements SourceField {
+
+    private final String name;
+    private final SourceType type;
+    private final SourceModifiers modifiers;
+    private final Object constantValue;
+
+    /**
+     * Constructor, for a field that is not a constant.
+     *
+     * @param name      the name of the field.
+     * @param type      the type of the field.
+     * @param modifiers the modifiers of the field.
+     */
+    public MemorySourceField(String name, SourceType type, SourceModifiers modifiers) {
+        this(name, type, modifiers, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name          the name of the field.
+     * @param type          the type of the field.
+     * @param modifiers     the modifiers of the field.
+     * @param constantValue the value of the field, null if it is not a constant.
+     */
+    public MemorySourceField(String name, SourceType type, SourceModifiers modifiers,
+                             @Nullable Object constantValue) {
+        this.name = name;
+        this.type = type;
+        this.modifiers = modifiers;
+        this.constantValue = constantValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SourceType getType() {
+        return type;
+    }
+
+    @Nullable
+    public Object getConstantValue() {
+        return constantValue;
+    }
+
+    public SourceModifiers getModifiers() {
+        return modifiers;
+    }
+
+    public String toString() {
+        return type + " " + name;
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A method of a class built in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @see MemorySourceClass
+ * @since 0.16
+ */
+public class MemorySourceMethod
+        implements SourceMethod {
+
+    private final String name;
+    private final SourceType returnType;
+    private final SourceModifiers modifiers;
+    private final List<String> parameterTypes;
+
+    /**
+     * Constructor, for a method without parameters.
+     *
+     * @param name       the name of the method.
+     * @param returnType the return type of the method, null for a constructor.
+     * @param modifiers  the modifiers of the method.
+     */
+    public MemorySourceMethod(String name, @Nullable SourceType returnType, SourceModifiers modifiers) {
+        this(name, returnType, modifiers, new String[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name           the name of the method.
+     * @param returnType     the return type of the method, null for a constructor.
+     * @param modifiers      the modifiers of the method.
+     * @param parameterTypes the canonical texts of the parameter types of the method.
+     */
+    public MemorySourceMethod(String name, @Nullable SourceType returnType, SourceModifiers modifiers,
+                              String... parameterTypes) {
+        this.name = name;
+        this.returnType = returnType;
+        this.modifiers = modifiers;
+        this.parameterTypes = Collections.unmodifiableList(Arrays.asList(parameterTypes.clone()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public SourceType getReturnType() {
+        return returnType;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public SourceModifiers getModifiers() {
+        return modifiers;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(returnType).append(' ').append(name).append('(');
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(parameterTypes.get(i));
+        }
+        return sb.append(')').toString();
+    }
+
+}
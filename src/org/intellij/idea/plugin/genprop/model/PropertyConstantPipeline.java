@@ -0,0 +1,189 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.element.SourceElementFactory;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the property name constants: {@code public static final String PROPERTYNAME_FIRST_NAME = "firstName";}
+ * <p/> Optional a nested {@code Property} enum is generated as well, with a constant carrying the name and type of
+ * each property and a {@code Property.of(String)} lookup, so the properties can be used as keys of an {@code EnumMap}
+ * or in a {@code switch}: <p/>
+ * <pre>
+ * public enum Property {
+ *     FIRST_NAME(PROPERTYNAME_FIRST_NAME, String.class);
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyConstantPipeline
+        extends GenerationPipeline {
+
+    public static final String ENUM_CLASS = "Property";
+    public static final String LOOKUP_METHOD = "of";
+
+    // {0} enum constant name, {1} name constant, {2} type class literal of the erased type
+    private static final AccessorTemplate ENUM_CONSTANT = AccessorTemplate.compile("{0}({1}, {2})");
+
+    // {0} name constant, {1} enum constant name
+    private static final AccessorTemplate LOOKUP_CASE = AccessorTemplate.compile("case {0}:\nreturn {1};\n");
+
+    private static final String ENUM_MEMBERS =
+            "private final String propertyName;\n" +
+                    "private final Class<?> type;\n" +
+                    "\n" +
+                    ENUM_CLASS + "(String propertyName, Class<?> type) {\n" +
+                    "this.propertyName = propertyName;\n" +
+                    "this.type = type;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public String getPropertyName() {\n" +
+                    "return propertyName;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public Class<?> getType() {\n" +
+                    "return type;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public static " + ENUM_CLASS + " " + LOOKUP_METHOD + "(String propertyName) {\n" +
+                    "if (propertyName == null) {\n" +
+                    "return null;\n" +
+                    "}\n" +
+                    "switch (propertyName) {\n";
+
+    private boolean propertyEnum = false;
+
+    public boolean isPropertyEnum() {
+        return propertyEnum;
+    }
+
+    /**
+     * Sets if the nested property enum is generated.
+     */
+    public void setPropertyEnum(boolean propertyEnum) {
+        this.propertyEnum = propertyEnum;
+    }
+
+    /**
+     * Get's the name of the constant of the field.
+     *
+     * @param field the field.
+     * @return the constant name.
+     */
+    public String constantName(FieldElement field) {
+        return StringUtil.generatePropertyConstantName(field.getName());
+    }
+
+    /**
+     * Get's the javadoc of the constant of the field.
+     *
+     * @param field the field.
+     * @return the javadoc.
+     */
+    public String javaDocText(FieldElement field) {
+        return "/** Property name constant for {@code " + field.getName() + "}. */";
+    }
+
+    /**
+     * Get's the declarations of the constants of the fields the class is missing, for code that refers to them.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declarations, empty if none are missing.
+     */
+    public String missingDeclarationText(SourceClass clazz, List<FieldElement> fields) {
+        List<FieldElement> missing = new ArrayList<FieldElement>();
+        for (FieldElement field : fields) {
+            if (!isGenerated(clazz, field)) {
+                missing.add(field);
+            }
+        }
+        return declarationText(missing);
+    }
+
+    /**
+     * Get's the declaration of the nested property enum. <p/> The enum must replace the existing enum, so it lists the
+     * properties of the class that have a name constant as well as the fields the code is generated for, in the order
+     * of the fields of the class. The types are erased, the bound of a type variable is qualified.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declaration, null if the enum is not generated.
+     */
+    @Nullable
+    public String enumDeclaration(SourceClass clazz, List<FieldElement> fields) {
+        if (!propertyEnum) {
+            return null;
+        }
+
+        Set<String> selected = new HashSet<String>();
+        for (FieldElement field : fields) {
+            selected.add(field.getName());
+        }
+        List<FieldElement> properties = new ArrayList<FieldElement>();
+        for (SourceField sourceField : clazz.getFields()) {
+            FieldElement field = SourceElementFactory.newFieldElement(sourceField);
+            if (selected.remove(field.getName())
+                    || !field.isModifierStatic() && clazz.findAllFieldByName(constantName(field)) != null) {
+                properties.add(field);
+            }
+        }
+        for (FieldElement field : fields) {
+            if (selected.contains(field.getName())) {
+                properties.add(field); // not declared in the class itself
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(512 + properties.size() * 128);
+        sb.append("public enum ").append(ENUM_CLASS).append(" {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            FieldElement field = properties.get(i);
+            ENUM_CONSTANT.render(sb, StringUtil.generateUpperCaseName(field.getName()), constantName(field),
+                    field.getTypeErasedText() + ".class");
+            sb.append(i < properties.size() - 1 ? ",\n" : ";\n\n");
+        }
+        sb.append(ENUM_MEMBERS);
+        for (FieldElement field : properties) {
+            LOOKUP_CASE.render(sb, constantName(field), StringUtil.generateUpperCaseName(field.getName()));
+        }
+        return sb.append("default:\nreturn null;\n}\n}\n}").toString();
+    }
+
+    /**
+     * Get's the javadoc of the nested property enum.
+     *
+     * @return the javadoc.
+     */
+    public String enumJavaDocText() {
+        return "/** The properties, {@link #" + LOOKUP_METHOD + "(String)} get's the property of a name. */";
+    }
+
+    @Override
+    protected boolean isGenerated(SourceClass clazz, FieldElement field) {
+        return clazz.findAllFieldByName(constantName(field)) != null;
+    }
+
+    @Override
+    protected void addExisting(SourceClass clazz, FieldElement field, List<SourceMember> existing) {
+        SourceField constant = clazz.findFieldByName(constantName(field));
+        if (constant != null) {
+            existing.add(constant);
+        }
+    }
+
+    @Override
+    protected void appendDeclarations(StringBuilder sb, FieldElement field) {
+        sb.append("public static final String ")
+                .append(constantName(field)).append(" = \"").append(field.getName()).append("\";\n");
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Generates the methods to get and set a property by name without reflection, which switch on the property name
+ * constants and call the accessor methods of the class if it has them, otherwise they access the field: <p/>
+ * <pre>
+ * public Object getProperty(String name) {
+ *     switch (name) {
+ *     case PROPERTYNAME_AGE:
+ *         return getAge();
+ *     ...
+ * }
+ * public void setProperty(String name, Object value) { ... }
+ * </pre>
+ * The fields are qualified with {@code this}, as a field may be named like the parameters. The values of primitive
+ * properties are unboxed by the type of the field, any {@link Number} sets a numeric property. The methods are
+ * derived from all the fields, so they replace the existing methods and all the fields are preselected. The missing
+ * property name constants the methods use are generated too.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyDispatchPipeline
+        extends GenerationPipeline {
+
+    public static final String GET_METHOD = "getProperty";
+    public static final String SET_METHOD = "setProperty";
+
+    // {0} name constant, {1} value
+    private static final AccessorTemplate GET_CASE = AccessorTemplate.compile("case {0}:\nreturn {1};\n");
+
+    // {0} name constant, {1} assignment or call
+    private static final AccessorTemplate SET_CASE = AccessorTemplate.compile("case {0}:\n{1};\nbreak;\n");
+
+    private static final AccessorTemplate READ_ONLY_CASE = AccessorTemplate.compile(
+            "case {0}:\nthrow new UnsupportedOperationException(\"Property \" + name + \" is read-only\");\n");
+
+    private static final String UNKNOWN =
+            "default:\nthrow new IllegalArgumentException(\"Unknown property: \" + name);\n}\n}";
+
+    private final PropertyConstantPipeline constants = new PropertyConstantPipeline();
+
+    /**
+     * Get's the declarations of the property name constants the class is missing, the methods refer to them.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declarations, empty if none are missing.
+     */
+    public String missingConstantsText(SourceClass clazz, List<FieldElement> fields) {
+        return constants.missingDeclarationText(clazz, fields);
+    }
+
+    /**
+     * Get's the declaration of the method to get a property by name, it must replace the existing method.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declaration.
+     */
+    public String getterDeclaration(SourceClass clazz, List<FieldElement> fields) {
+        StringBuilder sb = new StringBuilder(128 + fields.size() * 64);
+        sb.append("public Object ").append(GET_METHOD).append("(String name) {\nswitch (name) {\n");
+        for (FieldElement field : fields) {
+            String getter = PropertyTablePipeline.getterMethodName(clazz, field);
+            GET_CASE.render(sb, constants.constantName(field),
+                    getter != null ? getter + "()" : "this." + field.getName());
+        }
+        return sb.append(UNKNOWN).toString();
+    }
+
+    /**
+     * Get's the declaration of the method to set a property by name, it must replace the existing method.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declaration.
+     */
+    public String setterDeclaration(SourceClass clazz, List<FieldElement> fields) {
+        StringBuilder sb = new StringBuilder(128 + fields.size() * 96);
+        boolean unchecked = false;
+        for (FieldElement field : fields) {
+            String constant = constants.constantName(field);
+            String setter = PropertyTablePipeline.setterMethodName(clazz, field);
+            if (setter != null) {
+                SET_CASE.render(sb, constant, setter + "(" + unboxExpression(field) + ")");
+            } else if (field.isModifierFinal()) {
+                READ_ONLY_CASE.render(sb, constant);
+                continue;
+            } else {
+                SET_CASE.render(sb, constant, "this." + field.getName() + " = " + unboxExpression(field));
+            }
+            unchecked |= field.getTypePresentableText().indexOf('<') >= 0;
+        }
+        String header = "public void " + SET_METHOD + "(String name, Object value) {\nswitch (name) {\n";
+        sb.insert(0, unchecked ? "@SuppressWarnings(\"unchecked\")\n" + header : header);
+        return sb.append(UNKNOWN).toString();
+    }
+
+    /**
+     * Get's the javadoc of a generated member.
+     *
+     * @param memberName the name of the member.
+     * @return the javadoc, null if the member is not generated by this pipeline.
+     */
+    @Nullable
+    public String javaDocText(String memberName) {
+        if (StringUtil.isPropertyConstantName(memberName)) {
+            return "/** Property name constant. */";
+        } else if (GET_METHOD.equals(memberName)) {
+            return "/** Get's the value of the property of the name, without reflection. */";
+        } else if (SET_METHOD.equals(memberName)) {
+            return "/** Sets the value of the property of the name, without reflection. */";
+        }
+        return null;
+    }
+
+    /**
+     * The methods list all the properties, so they are never generated for a field: all the fields are preselected.
+     */
+    @Override
+    protected boolean isGenerated(SourceClass clazz, FieldElement field) {
+        return false;
+    }
+
+    @Override
+    protected void addExisting(SourceClass clazz, FieldElement field, List<SourceMember> existing) {
+        // the methods are not generated per field, they are replaced as a whole
+    }
+
+    @Override
+    protected void appendDeclarations(StringBuilder sb, FieldElement field) {
+        // the methods are built for all the fields at once
+    }
+
+    /**
+     * Get's the expression converting the value to the type of the field: a numeric primitive takes any number, the
+     * other primitives are unboxed from their wrapper and objects are cast.
+     */
+    private static String unboxExpression(FieldElement field) {
+        String type = field.getTypePresentableText();
+        if (field.isPrimitive() && field.isNumeric()) {
+            return "((Number) value)." + type + "Value()";
+        }
+        String wrapper = field.isPrimitive() ? SourceType.getWrapperName(type) : null;
+        return "(" + (wrapper != null ? wrapper : type) + ") value";
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The indexes of the properties of a class, declared as {@code PROPERTYINDEX_} constants next to the property name
+ * constants. The accessor table, the listener dispatcher and the dirty tracking use the same indexes. <p/> A declared
+ * index constant keeps its value, as code using it may have inlined it: the properties without one get the indexes
+ * following the highest declared index, and the index of a property whose name constant is gone stays unused.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+final class PropertyIndexes {
+
+    // {0} index constant name, {1} index
+    private static final AccessorTemplate INDEX = AccessorTemplate.compile("public static final int {0} = {1};");
+
+    private PropertyIndexes() {
+    }
+
+    /**
+     * Get's the property name constants of the class by index: the constants declared in the class followed by the
+     * constants of the fields the code is generated for that are not declared yet.
+     *
+     * @param clazz  the class.
+     * @param fields the fields the code is generated for.
+     * @return the names of the constants, the index in the list is the index of the property, null if it is unused.
+     */
+    static List<String> constantsByIndex(SourceClass clazz, List<FieldElement> fields) {
+        List<String> declared = new ArrayList<String>();
+        for (SourceField field : clazz.getFields()) {
+            if (field.getModifiers().isStatic() && StringUtil.isPropertyConstantName(field.getName())) {
+                declared.add(field.getName());
+            }
+        }
+        for (FieldElement field : fields) {
+            String constant = StringUtil.generatePropertyConstantName(field.getName());
+            if (!declared.contains(constant)) {
+                declared.add(constant);
+            }
+        }
+
+        List<String> byIndex = new ArrayList<String>(declared.size());
+        List<String> unindexed = new ArrayList<String>();
+        for (String constant : declared) {
+            int index = indexValue(clazz.findFieldByName(StringUtil.generatePropertyIndexName(constant)));
+            if (index < 0 || index < byIndex.size() && byIndex.get(index) != null) {
+                unindexed.add(constant); // no index yet, or the index of another property
+                continue;
+            }
+            while (byIndex.size() <= index) {
+                byIndex.add(null);
+            }
+            byIndex.set(index, constant);
+        }
+
+        // the indexes of the stale constants are not given to another property while they are declared
+        int next = byIndex.size();
+        for (SourceField field : clazz.getFields()) {
+            next = Math.max(next, indexValue(field) + 1);
+        }
+        while (byIndex.size() < next && !unindexed.isEmpty()) {
+            byIndex.add(null);
+        }
+        byIndex.addAll(unindexed);
+        return byIndex;
+    }
+
+    /**
+     * Get's the declarations of the index constants, which must replace the existing ones.
+     *
+     * @param constantsByIndex the property name constants by index.
+     * @return the declarations.
+     * @see #constantsByIndex(SourceClass, java.util.List)
+     */
+    static List<String> declarations(List<String> constantsByIndex) {
+        List<String> declarations = new ArrayList<String>(constantsByIndex.size());
+        for (int i = 0; i < constantsByIndex.size(); i++) {
+            String constant = constantsByIndex.get(i);
+            if (constant != null) {
+                declarations.add(INDEX.render(StringUtil.generatePropertyIndexName(constant), String.valueOf(i)));
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Get's the index constants of the class of the properties without a name constant, which must be deleted.
+     *
+     * @param clazz            the class.
+     * @param constantsByIndex the property name constants by index.
+     * @return the names of the constants, empty if none are stale.
+     */
+    static List<String> staleNames(SourceClass clazz, List<String> constantsByIndex) {
+        List<String> indexes = new ArrayList<String>(constantsByIndex.size());
+        for (String constant : constantsByIndex) {
+            if (constant != null) {
+                indexes.add(StringUtil.generatePropertyIndexName(constant));
+            }
+        }
+        List<String> stale = new ArrayList<String>();
+        for (SourceField field : clazz.getFields()) {
+            String name = field.getName();
+            if (field.getModifiers().isStatic() && StringUtil.isPropertyIndexName(name) && !indexes.contains(name)) {
+                stale.add(name);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Get's the value of an index constant.
+     *
+     * @param field the field, can be null.
+     * @return the index, -1 if the field is not a static index constant with a valid value.
+     */
+    private static int indexValue(@Nullable SourceField field) {
+        if (field == null || !field.getModifiers().isStatic() || !StringUtil.isPropertyIndexName(field.getName())) {
+            return -1;
+        }
+        Object value = field.getConstantValue();
+        return value instanceof Integer && (Integer) value >= 0 ? (Integer) value : -1;
+    }
+
+}
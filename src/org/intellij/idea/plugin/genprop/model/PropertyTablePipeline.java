@@ -0,0 +1,321 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.element.MethodElement;
+import org.intellij.idea.plugin.genprop.element.SourceElementFactory;
+import org.intellij.idea.plugin.genprop.util.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a static table of property accessors, so frameworks can look up the getter and setter of a property by
+ * name or ordinal without reflection: <p/>
+ * <pre>
+ * public static final int PROPERTYINDEX_FIRST_NAME = 0;
+ * public static final java.util.List&lt;PropertyAccessor&gt; PROPERTY_ACCESSORS = ...;
+ * public static PropertyAccessor propertyAccessor(String name) { ... }
+ * public static final class PropertyAccessor { ... }
+ * </pre>
+ * The ordinal of a property is its index constant, the same the listener dispatcher and the dirty tracking use, see
+ * {@link PropertyIndexes}. The getter and setter of an accessor call the accessor methods of the class if it has them,
+ * otherwise they access the field. The table and the index constants are derived from all the properties, so they
+ * replace the existing ones and all the fields are preselected; the index constants of the properties no longer
+ * declared are deleted. The missing property name constants the table uses are generated too.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyTablePipeline
+        extends GenerationPipeline {
+
+    public static final String TABLE_FIELD = "PROPERTY_ACCESSORS";
+    public static final String LOOKUP_METHOD = "propertyAccessor";
+    public static final String ACCESSOR_CLASS = "PropertyAccessor";
+
+    // {0} class name, {1} name constant, {2} index constant, {3} type class literal, {4} getter, {5} setter
+    private static final AccessorTemplate ENTRY = AccessorTemplate.compile(
+            "new " + ACCESSOR_CLASS + "({0}.{1}, {0}.{2}, {3}, {4}, {5})");
+
+    private static final AccessorTemplate LOOKUP = AccessorTemplate.compile(
+            "public static " + ACCESSOR_CLASS + " " + LOOKUP_METHOD + "(String name) {\n" +
+                    "for (int i = 0; i < " + TABLE_FIELD + ".size(); i++) {\n" +
+                    ACCESSOR_CLASS + " accessor = " + TABLE_FIELD + ".get(i);\n" +
+                    "if (accessor != null && accessor.getName() == name) {\n" +
+                    "return accessor;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "for (int i = 0; i < " + TABLE_FIELD + ".size(); i++) {\n" +
+                    ACCESSOR_CLASS + " accessor = " + TABLE_FIELD + ".get(i);\n" +
+                    "if (accessor != null && accessor.getName().equals(name)) {\n" +
+                    "return accessor;\n" +
+                    "}\n" +
+                    "}\n" +
+                    "return null;\n" +
+                    "}");
+
+    // {0} class name
+    private static final AccessorTemplate ACCESSOR = AccessorTemplate.compile(
+            "public static final class " + ACCESSOR_CLASS + " {\n" +
+                    "private final String name;\n" +
+                    "private final int ordinal;\n" +
+                    "private final Class<?> type;\n" +
+                    "private final java.util.function.Function<{0}, Object> getter;\n" +
+                    "private final java.util.function.BiConsumer<{0}, Object> setter;\n" +
+                    "\n" +
+                    "private " + ACCESSOR_CLASS + "(String name, int ordinal, Class<?> type,\n" +
+                    "java.util.function.Function<{0}, Object> getter,\n" +
+                    "java.util.function.BiConsumer<{0}, Object> setter) {\n" +
+                    "this.name = name;\n" +
+                    "this.ordinal = ordinal;\n" +
+                    "this.type = type;\n" +
+                    "this.getter = getter;\n" +
+                    "this.setter = setter;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public String getName() {\n" +
+                    "return name;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public int getOrdinal() {\n" +
+                    "return ordinal;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public Class<?> getType() {\n" +
+                    "return type;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public boolean isReadOnly() {\n" +
+                    "return setter == null;\n" +
+                    "}\n" +
+                    "\n" +
+                    "public Object get({0} bean) {\n" +
+                    "return getter.apply(bean);\n" +
+                    "}\n" +
+                    "\n" +
+                    "public void set({0} bean, Object value) {\n" +
+                    "if (setter == null) {\n" +
+                    "throw new UnsupportedOperationException(\"Property \" + name + \" is read-only\");\n" +
+                    "}\n" +
+                    "setter.accept(bean, value);\n" +
+                    "}\n" +
+                    "}");
+
+    private final PropertyConstantPipeline constants = new PropertyConstantPipeline();
+    private String className = null;
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Sets the name of the class the code is generated in.
+     */
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Get's the name of the index constant of the field.
+     *
+     * @param field the field.
+     * @return the constant name, etc. PROPERTYINDEX_FIRST_NAME.
+     */
+    public String indexName(FieldElement field) {
+        return StringUtil.generatePropertyIndexName(constants.constantName(field));
+    }
+
+    /**
+     * Get's the declarations of the index constants of all the properties of the class, they must replace the
+     * existing ones.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declarations.
+     */
+    public List<String> indexDeclarations(SourceClass clazz, List<FieldElement> fields) {
+        return PropertyIndexes.declarations(PropertyIndexes.constantsByIndex(clazz, fields));
+    }
+
+    /**
+     * Get's the declarations of the property name constants the class is missing, the table refers to them.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declarations, empty if none are missing.
+     */
+    public String missingConstantsText(SourceClass clazz, List<FieldElement> fields) {
+        return constants.missingDeclarationText(clazz, fields);
+    }
+
+    /**
+     * Get's the declaration of the table, it must replace the existing table. The table is indexed by property index,
+     * the entry is null for an unused index and for a property none of the fields is generated for.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the declaration.
+     */
+    public String tableDeclaration(SourceClass clazz, List<FieldElement> fields) {
+        Map<String, FieldElement> byConstant = new HashMap<String, FieldElement>(fields.size() * 2);
+        for (FieldElement field : fields) {
+            byConstant.put(constants.constantName(field), field);
+        }
+        List<String> constantsByIndex = PropertyIndexes.constantsByIndex(clazz, fields);
+        StringBuilder sb = new StringBuilder(128 + constantsByIndex.size() * 192);
+        sb.append("public static final java.util.List<").append(ACCESSOR_CLASS).append("> ").append(TABLE_FIELD)
+                .append(" =\njava.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+        for (int i = 0; i < constantsByIndex.size(); i++) {
+            FieldElement field = byConstant.get(constantsByIndex.get(i));
+            sb.append(i > 0 ? ",\n" : "\n");
+            if (field == null) {
+                sb.append("(").append(ACCESSOR_CLASS).append(") null");
+            } else {
+                ENTRY.render(sb, className, constants.constantName(field), indexName(field),
+                        field.getTypeErasedText() + ".class",
+                        getter(clazz, field), setter(clazz, field));
+            }
+        }
+        return sb.append("));").toString();
+    }
+
+    /**
+     * Get's the index constants of the class of the properties without a name constant, which must be deleted.
+     *
+     * @param clazz  the class.
+     * @param fields the fields to generate code for.
+     * @return the names of the constants, empty if none are stale.
+     */
+    public List<String> staleIndexNames(SourceClass clazz, List<FieldElement> fields) {
+        return PropertyIndexes.staleNames(clazz, PropertyIndexes.constantsByIndex(clazz, fields));
+    }
+
+    /**
+     * Get's the declarations of the lookup method and the accessor class the class is missing.
+     *
+     * @param clazz            the class.
+     * @param hasAccessorClass does the class have the nested accessor class, which the source model does not hold.
+     * @return the declarations, empty if none are missing.
+     */
+    public List<String> supportDeclarations(SourceClass clazz, boolean hasAccessorClass) {
+        List<String> declarations = new ArrayList<String>();
+        if (clazz.findMethodByName(LOOKUP_METHOD) == null) {
+            declarations.add(LOOKUP.render());
+        }
+        if (!hasAccessorClass) {
+            declarations.add(ACCESSOR.render(className));
+        }
+        return declarations;
+    }
+
+    /**
+     * Get's the javadoc of a generated member.
+     *
+     * @param memberName the name of the member.
+     * @return the javadoc, null if the member is not generated by this pipeline.
+     */
+    @Nullable
+    public String javaDocText(String memberName) {
+        if (StringUtil.isPropertyIndexName(memberName)) {
+            return "/** Property index constant, the index of the property which never changes once declared. */";
+        } else if (StringUtil.isPropertyConstantName(memberName)) {
+            return "/** Property name constant. */";
+        } else if (TABLE_FIELD.equals(memberName)) {
+            return "/** The accessors of the properties by property index, null for an unused index. */";
+        } else if (LOOKUP_METHOD.equals(memberName)) {
+            return "/** Get's the accessor of the property, null if there is no property of the name. */";
+        } else if (ACCESSOR_CLASS.equals(memberName)) {
+            return "/** The reflection-free getter and setter of a property. */";
+        }
+        return null;
+    }
+
+    /**
+     * The table lists all the properties, so it is never generated for a field: all the fields are preselected.
+     */
+    @Override
+    protected boolean isGenerated(SourceClass clazz, FieldElement field) {
+        return false;
+    }
+
+    @Override
+    protected void addExisting(SourceClass clazz, FieldElement field, List<SourceMember> existing) {
+        SourceField index = clazz.findFieldByName(indexName(field));
+        if (index != null) {
+            existing.add(index);
+        }
+    }
+
+    /**
+     * The index constants cover all the properties of the class, see {@link #indexDeclarations(SourceClass, List)}.
+     */
+    @Override
+    protected void appendDeclarations(StringBuilder sb, FieldElement field) {
+    }
+
+    /**
+     * Get's the name of the getter method of the field.
+     *
+     * @param clazz the class.
+     * @param field the field.
+     * @return the name of the getter method, null if the class has no getter for the field.
+     */
+    @Nullable
+    static String getterMethodName(SourceClass clazz, FieldElement field) {
+        String name = field.isBoolean()
+                ? StringUtil.generateGetterNameBoolean(field.getName())
+                : StringUtil.generateGetterNameGeneral(field.getName());
+        SourceMethod method = clazz.findAllMethodByName(name);
+        if (method != null) {
+            MethodElement getter = SourceElementFactory.newMethodElement(method);
+            if (getter.isGetter() && !getter.isModifierStatic()) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get's the name of the setter method of the field.
+     *
+     * @param clazz the class.
+     * @param field the field.
+     * @return the name of the setter method, null if the class has no setter for the field.
+     */
+    @Nullable
+    static String setterMethodName(SourceClass clazz, FieldElement field) {
+        String name = StringUtil.generateSetterName(field.getName());
+        SourceMethod method = clazz.findAllMethodByName(name);
+        return method != null && !method.getModifiers().isStatic() ? name : null;
+    }
+
+    /**
+     * Get's the getter function of the field: the getter method if the class has one, otherwise the field.
+     */
+    private String getter(SourceClass clazz, FieldElement field) {
+        String name = getterMethodName(clazz, field);
+        return name != null ? "bean -> bean." + name + "()" : "bean -> bean." + field.getName();
+    }
+
+    /**
+     * Get's the setter consumer of the field: the setter method if the class has one, otherwise the field, null if the
+     * field is final. The value is cast to the erasure of the type, as the static table can not refer to the type
+     * variables of the class.
+     */
+    private String setter(SourceClass clazz, FieldElement field) {
+        String type = field.getTypeErasedText();
+        String wrapper = field.isPrimitive() ? SourceType.getWrapperName(type) : null;
+        String cast = "(" + (wrapper != null ? wrapper : type) + ") ";
+        String name = setterMethodName(clazz, field);
+        if (name != null) {
+            return "(bean, value) -> bean." + name + "(" + cast + "value)";
+        } else if (field.isModifierFinal()) {
+            return "null";
+        }
+        return "(bean, value) -> bean." + field.getName() + " = " + cast + "value";
+    }
+
+}
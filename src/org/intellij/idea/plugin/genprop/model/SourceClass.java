@@ -0,0 +1,82 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A class in the source model. <p/> The source model is the part of the class needed to generate code, so the
+ * generation pipeline can run on a class in the editor as well as on a class built in memory without a running IDEA.
+ * When a class has several members of the same name, the find methods return the last one as the duplicate conflict
+ * resolution policy requires this.
+ *
+ * @author Thomas Edwin Santosa
+ * @see GenerationPipeline
+ * @since 0.16
+ */
+public interface SourceClass {
+
+    String getName();
+
+    String getQualifiedName();
+
+    /**
+     * Get's the fields declared in the class.
+     *
+     * @return the fields in declaration order.
+     */
+    List<? extends SourceField> getFields();
+
+    /**
+     * Get's the methods declared in the class.
+     *
+     * @return the methods in declaration order.
+     */
+    List<? extends SourceMethod> getMethods();
+
+    /**
+     * Finds a field declared in the class with the given name.
+     *
+     * @param name name of the field to find.
+     * @return the found field, null if none exist.
+     */
+    @Nullable
+    SourceField findFieldByName(String name);
+
+    /**
+     * Finds a field declared in the class or inherited with the given name.
+     *
+     * @param name name of the field to find.
+     * @return the found field, null if none exist.
+     */
+    @Nullable
+    SourceField findAllFieldByName(String name);
+
+    /**
+     * Finds a method declared in the class with the given name.
+     *
+     * @param name name of the method to find.
+     * @return the found method, null if none exist.
+     */
+    @Nullable
+    SourceMethod findMethodByName(String name);
+
+    /**
+     * Finds a method declared in the class or inherited with the given name.
+     *
+     * @param name name of the method to find.
+     * @return the found method, null if none exist.
+     */
+    @Nullable
+    SourceMethod findAllMethodByName(String name);
+
+    /**
+     * Finds the methods with the given name, the overloads as well.
+     *
+     * @param name       name of the methods to find.
+     * @param checkBases true to find the inherited methods as well.
+     * @return the found methods, empty if none exist.
+     */
+    List<? extends SourceMethod> findMethodsByName(String name, boolean checkBases);
+
+}
@@ -0,0 +1,24 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A field of a class in the source model.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public interface SourceField
+        extends SourceMember {
+
+    SourceType getType();
+
+    /**
+     * Get's the value of the field if it is a constant (etc. the index of a property index constant).
+     *
+     * @return the value, null if the field is not a constant.
+     */
+    @Nullable
+    Object getConstantValue();
+
+}
@@ -0,0 +1,15 @@
+package org.intellij.idea.plugin.genprop.model;
+
+/**
+ * A field or method of a class in the source model.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public interface SourceMember {
+
+    String getName();
+
+    SourceModifiers getModifiers();
+
+}
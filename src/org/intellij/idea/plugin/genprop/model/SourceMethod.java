@@ -0,0 +1,31 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A method of a class in the source model.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public interface SourceMethod
+        extends SourceMember {
+
+    /**
+     * Get's the return type of the method.
+     *
+     * @return the return type, null if the method is a constructor or the return type is not valid.
+     */
+    @Nullable
+    SourceType getReturnType();
+
+    /**
+     * Get's the canonical texts of the parameter types of the method (etc. java.lang.String).
+     *
+     * @return the parameter types in declaration order, empty if the method has no parameters.
+     */
+    List<String> getParameterTypes();
+
+}
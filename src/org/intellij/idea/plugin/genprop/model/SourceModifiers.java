@@ -0,0 +1,100 @@
+package org.intellij.idea.plugin.genprop.model;
+
+/**
+ * The modifiers of a field or method in the source model. <p/> The modifiers are a bitmask of the constants of this
+ * class, a member is package local when it is neither public, protected nor private.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public final class SourceModifiers {
+
+    public static final int PUBLIC = 1;
+    public static final int PROTECTED = 1 << 1;
+    public static final int PRIVATE = 1 << 2;
+    public static final int STATIC = 1 << 3;
+    public static final int FINAL = 1 << 4;
+    public static final int TRANSIENT = 1 << 5;
+    public static final int VOLATILE = 1 << 6;
+    public static final int ABSTRACT = 1 << 7;
+    public static final int SYNCHRONIZED = 1 << 8;
+
+    private static final int ACCESS = PUBLIC | PROTECTED | PRIVATE;
+
+    /**
+     * No modifiers, a package local member.
+     */
+    public static final SourceModifiers NONE = new SourceModifiers(0);
+
+    private final int flags;
+
+    /**
+     * Constructor.
+     *
+     * @param flags the modifiers, a combination of the constants of this class.
+     */
+    public SourceModifiers(int flags) {
+        this.flags = flags;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean isPublic() {
+        return is(PUBLIC);
+    }
+
+    public boolean isProtected() {
+        return is(PROTECTED);
+    }
+
+    public boolean isPrivate() {
+        return is(PRIVATE);
+    }
+
+    public boolean isPackageLocal() {
+        return (flags & ACCESS) == 0;
+    }
+
+    public boolean isStatic() {
+        return is(STATIC);
+    }
+
+    public boolean isFinal() {
+        return is(FINAL);
+    }
+
+    public boolean isTransient() {
+        return is(TRANSIENT);
+    }
+
+    public boolean isVolatile() {
+        return is(VOLATILE);
+    }
+
+    public boolean isAbstract() {
+        return is(ABSTRACT);
+    }
+
+    public boolean isSynchronized() {
+        return is(SYNCHRONIZED);
+    }
+
+    private boolean is(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public boolean equals(Object o) {
+        return this == o || (o instanceof SourceModifiers && flags == ((SourceModifiers) o).flags);
+    }
+
+    public int hashCode() {
+        return flags;
+    }
+
+    public String toString() {
+        return "SourceModifiers{flags=" + Integer.toBinaryString(flags) + "}";
+    }
+
+}
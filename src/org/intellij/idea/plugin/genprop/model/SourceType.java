@@ -0,0 +1,164 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The type of a field or the return type of a method in the source model.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public final class SourceType {
+
+    private static final Map<String, String> WRAPPERS = new HashMap<String, String>();
+
+    static {
+        WRAPPERS.put("byte", "Byte");
+        WRAPPERS.put("short", "Short");
+        WRAPPERS.put("char", "Character");
+        WRAPPERS.put("int", "Integer");
+        WRAPPERS.put("long", "Long");
+        WRAPPERS.put("float", "Float");
+        WRAPPERS.put("double", "Double");
+        WRAPPERS.put("boolean", "Boolean");
+    }
+
+    private final String canonicalText;
+    private final String presentableText;
+    private final String erasedText;
+    private final TypeClassification classification;
+
+    /**
+     * Constructor, for a type that is not a type variable.
+     *
+     * @param canonicalText   the canonical text of the type (etc. java.util.List&lt;java.lang.String&gt;).
+     * @param presentableText the presentable text of the type (etc. List&lt;String&gt;).
+     * @param classification  the classification of the type.
+     */
+    public SourceType(String canonicalText, String presentableText, TypeClassification classification) {
+        this(canonicalText, presentableText, erasure(presentableText), classification);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param canonicalText   the canonical text of the type (etc. java.util.List&lt;java.lang.String&gt;).
+     * @param presentableText the presentable text of the type (etc. List&lt;String&gt;).
+     * @param erasedText      the text of the erasure of the type (etc. List), the erasure of the bound for a type
+     *                        variable (etc. java.lang.Number for T extends Number).
+     * @param classification  the classification of the type.
+     */
+    public SourceType(String canonicalText, String presentableText, String erasedText,
+                      TypeClassification classification) {
+        this.canonicalText = canonicalText;
+        this.presentableText = presentableText;
+        this.erasedText = erasedText;
+        this.classification = classification;
+    }
+
+    public String getCanonicalText() {
+        return canonicalText;
+    }
+
+    public String getPresentableText() {
+        return presentableText;
+    }
+
+    /**
+     * Get's the text of the erasure of the type, as needed for a class literal. The erasure of a type variable is
+     * the erasure of its bound, using the canonical text.
+     *
+     * @return the text of the erasure.
+     */
+    public String getErasedText() {
+        return erasedText;
+    }
+
+    public TypeClassification getClassification() {
+        return classification;
+    }
+
+    public boolean isVoid() {
+        return "void".equals(canonicalText);
+    }
+
+    /**
+     * Get's the fully qualified classname of the type (etc java.lang.String, java.util.ArrayList)
+     *
+     * @return the fully qualified classname, null if the type is a primitive.
+     * @see org.intellij.idea.plugin.genprop.psi.PsiAdapter#getTypeQualifiedClassName(com.intellij.psi.PsiType)
+     */
+    @Nullable
+    public String getQualifiedClassName() {
+        if (classification.isPrimitive()) {
+            return null;
+        }
+
+        // avoid [] if the type is an array
+        if (canonicalText.endsWith("[]")) {
+            return canonicalText.substring(0, canonicalText.length() - 2);
+        }
+        return canonicalText;
+    }
+
+    /**
+     * Get's the classname of the type (etc. String, ArrayList)
+     *
+     * @return the classname, null if the type is a primitive.
+     * @see org.intellij.idea.plugin.genprop.psi.PsiAdapter#getTypeClassName(com.intellij.psi.PsiType)
+     */
+    @Nullable
+    public String getClassName() {
+        String name = getQualifiedClassName();
+        if (name == null) {
+            return null;
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Get's the name of the wrapper class of a primitive type (etc. Integer for int).
+     *
+     * @param primitive the name of the primitive type.
+     * @return the name of the wrapper class, null if the name is not a primitive type.
+     * @since 0.16
+     */
+    @Nullable
+    public static String getWrapperName(String primitive) {
+        return WRAPPERS.get(primitive);
+    }
+
+    /**
+     * Removes the type arguments of the type text (etc. List&lt;String&gt; is List), as needed for a class literal.
+     *
+     * @param type the text of the type.
+     * @return the text without type arguments.
+     * @since 0.16
+     */
+    public static String erasure(String type) {
+        if (type.indexOf('<') < 0) {
+            return type;
+        }
+        StringBuilder sb = new StringBuilder(type.length());
+        int depth = 0;
+        for (int i = 0; i < type.length(); i++) {
+            char ch = type.charAt(i);
+            if (ch == '<') {
+                depth++;
+            } else if (ch == '>') {
+                depth--;
+            } else if (depth == 0) {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public String toString() {
+        return canonicalText;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.intellij.idea.plugin.genprop.model;
+
+/**
+ * The classification of a type (collection, string, numeric etc.) used for the element information. <p/> All the flags
+ * are computed at once by {@link org.intellij.idea.plugin.genprop.psi.PsiAdapter#classifyType(
+ * com.intellij.psi.PsiManager, com.intellij.psi.PsiElementFactory, com.intellij.psi.PsiType)} and the classification is
+ * shared by all the fields and methods of the same type.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public final class TypeClassification {
+
+    public static final int PRIMITIVE = 1;
+    public static final int ARRAY = 1 << 1;
+    public static final int PRIMITIVE_ARRAY = 1 << 2;
+    public static final int OBJECT_ARRAY = 1 << 3;
+    public static final int STRING_ARRAY = 1 << 4;
+    public static final int COLLECTION = 1 << 5;
+    public static final int LIST = 1 << 6;
+    public static final int SET = 1 << 7;
+    public static final int MAP = 1 << 8;
+    public static final int OBJECT = 1 << 9;
+    public static final int STRING = 1 << 10;
+    public static final int NUMERIC = 1 << 11;
+    public static final int DATE = 1 << 12;
+    public static final int CALENDAR = 1 << 13;
+    public static final int BOOLEAN = 1 << 14;
+
+    private final int flags;
+
+    /**
+     * Constructor.
+     *
+     * @param flags the flags of the type, a combination of the constants of this class.
+     */
+    public TypeClassification(int flags) {
+        this.flags = flags;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean isPrimitive() {
+        return is(PRIMITIVE);
+    }
+
+    public boolean isArray() {
+        return is(ARRAY);
+    }
+
+    public boolean isPrimitiveArray() {
+        return is(PRIMITIVE_ARRAY);
+    }
+
+    public boolean isObjectArray() {
+        return is(OBJECT_ARRAY);
+    }
+
+    public boolean isStringArray() {
+        return is(STRING_ARRAY);
+    }
+
+    public boolean isCollection() {
+        return is(COLLECTION);
+    }
+
+    public boolean isList() {
+        return is(LIST);
+    }
+
+    public boolean isSet() {
+        return is(SET);
+    }
+
+    public boolean isMap() {
+        return is(MAP);
+    }
+
+    public boolean isObject() {
+        return is(OBJECT);
+    }
+
+    public boolean isString() {
+        return is(STRING);
+    }
+
+    public boolean isNumeric() {
+        return is(NUMERIC);
+    }
+
+    public boolean isDate() {
+        return is(DATE);
+    }
+
+    public boolean isCalendar() {
+        return is(CALENDAR);
+    }
+
+    public boolean isBoolean() {
+        return is(BOOLEAN);
+    }
+
+    private boolean is(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public boolean equals(Object o) {
+        return this == o || o instanceof TypeClassification && flags == ((TypeClassification) o).flags;
+    }
+
+    public int hashCode() {
+        return flags;
+    }
+
+    public String toString() {
+        return "TypeClassification{flags=" + Integer.toBinaryString(flags) + "}";
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.intellij.idea.plugin.genprop.psi;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the members of a class by name. <p/> Built once per action so looking up the members of the class does not
+ * scan all its fields and methods for each lookup. The inherited members are only indexed the first time they are
+ * looked up, as it requires walking the class hierarchy. <p/> Members added to the class while the action runs must be
+ * registered using {@link #add(PsiMember)}, members replaced or deleted are skipped as they are no longer valid.
+ *
+ * @author Thomas Edwin Santosa
+ * @see PsiAdapter
+ */
+public class MemberIndex {
+
+    private final PsiClass clazz;
+    private final Map<String, List<PsiField>> fields;
+    private final Map<String, List<PsiMethod>> methods;
+    private Map<String, List<PsiField>> allFields;
+    private Map<String, List<PsiMethod>> allMethods;
+
+    /**
+     * Constructor.
+     *
+     * @param clazz the class to index.
+     */
+    public MemberIndex(PsiClass clazz) {
+        this.clazz = clazz;
+        fields = index(clazz.getFields());
+        methods = index(clazz.getMethods());
+    }
+
+    public PsiClass getPsiClass() {
+        return clazz;
+    }
+
+    /**
+     * Finds an existing field declared in the class with the given name.
+     *
+     * @param name name of field to find
+     * @return the found field, null if none exist
+     * @see PsiAdapter#findFieldByName(com.intellij.psi.PsiClass, String)
+     */
+    @Nullable
+    public PsiField findFieldByName(String name) {
+        return findLast(fields, name);
+    }
+
+    /**
+     * Finds an existing field declared in the class or inherited with the given name.
+     *
+     * @param name name of field to find
+     * @return the found field, null if none exist
+     * @see PsiAdapter#findAllFieldByName(com.intellij.psi.PsiClass, String)
+     */
+    @Nullable
+    public PsiField findAllFieldByName(String name) {
+        if (allFields == null) {
+            allFields = index(clazz.getAllFields());
+        }
+        return findLast(allFields, name);
+    }
+
+    /**
+     * Finds an existing method declared in the class with the given name.
+     *
+     * @param name name of method to find
+     * @return the found method, null if none exist
+     * @see PsiAdapter#findMethodByName(com.intellij.psi.PsiClass, String)
+     */
+    @Nullable
+    public PsiMethod findMethodByName(String name) {
+        return findLast(methods, name);
+    }
+
+    /**
+     * Finds an existing method declared in the class or inherited with the given name.
+     *
+     * @param name name of method to find
+     * @return the found method, null if none exist
+     * @see PsiAdapter#findAllMethodByName(com.intellij.psi.PsiClass, String)
+     */
+    @Nullable
+    public PsiMethod findAllMethodByName(String name) {
+        if (allMethods == null) {
+            allMethods = index(clazz.getAllMethods());
+        }
+        return findLast(allMethods, name);
+    }
+
+    /**
+     * Finds the existing methods with the given name, the overloads as well.
+     *
+     * @param name       name of methods to find
+     * @param checkBases true to find the inherited methods as well
+     * @return the found methods, empty if none exist
+     */
+    public List<PsiMethod> findMethodsByName(String name, boolean checkBases) {
+        if (checkBases && allMethods == null) {
+            allMethods = index(clazz.getAllMethods());
+        }
+        List<PsiMethod> list = (checkBases ? allMethods : methods).get(name);
+        List<PsiMethod> found = new ArrayList<PsiMethod>(list == null ? 0 : list.size());
+        if (list != null) {
+            for (PsiMethod method : list) {
+                if (method.isValid()) {
+                    found.add(method);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Registers a member that has been added to the class.
+     *
+     * @param member the added member, members that are not fields or methods are ignored.
+     */
+    public void add(PsiMember member) {
+        if (member instanceof PsiField) {
+            PsiField field = (PsiField) member;
+            put(fields, field.getName(), field);
+            if (allFields != null) {
+                put(allFields, field.getName(), field);
+            }
+        } else if (member instanceof PsiMethod) {
+            PsiMethod method = (PsiMethod) member;
+            put(methods, method.getName(), method);
+            if (allMethods != null) {
+                put(allMethods, method.getName(), method);
+            }
+        }
+    }
+
+    /**
+     * Registers the members that has been added to the class.
+     *
+     * @param members the added members.
+     */
+    public void addAll(Collection<? extends PsiMember> members) {
+        for (PsiMember member : members) {
+            add(member);
+        }
+    }
+
+    private static <T extends PsiMember> Map<String, List<T>> index(T[] members) {
+        Map<String, List<T>> index = new HashMap<String, List<T>>(members.length * 2);
+        for (T member : members) {
+            put(index, member.getName(), member);
+        }
+        return index;
+    }
+
+    private static <T extends PsiMember> void put(Map<String, List<T>> index, String name, T member) {
+        List<T> list = index.get(name);
+        if (list == null) {
+            list = new ArrayList<T>(1);
+            index.put(name, list);
+        }
+        list.add(member);
+    }
+
+    @Nullable
+    private static <T extends PsiMember> T findLast(Map<String, List<T>> index, String name) {
+        List<T> list = index.get(name);
+        if (list == null) {
+            return null;
+        }
+
+        // use reverse to find from bottom as the duplicate conflict resolution policy requires this
+        for (int i = list.size() - 1; i >= 0; i--) {
+            T member = list.get(i);
+            if (member.isValid()) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+}
@@ -16,10 +16,20 @@ import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.intellij.psi.javadoc.PsiDocComment;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.TypeConversionUtil;
 import com.intellij.util.IncorrectOperationException;
+import org.intellij.idea.plugin.genprop.model.SourceModifiers;
+import org.intellij.idea.plugin.genprop.model.SourceType;
+import org.intellij.idea.plugin.genprop.model.TypeClassification;
 import org.intellij.idea.plugin.genprop.util.StringUtil;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Basic PSI Adapter with common function that works in all supported versions of IDEA.
  */
@@ -27,6 +37,27 @@ public class PsiAdapter {
 
 	private static final String[] EMPTY_STRINGS = new String[0];
 
+	/**
+	 * Max number of type classifications to cache.
+	 */
+	private static final int MAX_CACHED_TYPES = 1000;
+
+	/**
+	 * The FQ classnames the types are classified against and their flags.
+	 */
+	private static final String[] CLASSIFIED_CLASS_NAMES = {"java.util.Collection", "java.util.List", "java.util.Set",
+			"java.util.Map", "java.lang.Object", "java.lang.String", "java.lang.Number", "java.util.Date",
+			"java.util.Calendar", "java.lang.Boolean"};
+	private static final int[] CLASSIFIED_FLAGS = {TypeClassification.COLLECTION, TypeClassification.LIST,
+			TypeClassification.SET, TypeClassification.MAP, TypeClassification.OBJECT, TypeClassification.STRING,
+			TypeClassification.NUMERIC, TypeClassification.DATE, TypeClassification.CALENDAR,
+			TypeClassification.BOOLEAN};
+
+	// type classifications by canonical text, valid until the PSI of the manager is changed
+	private final Map<String, TypeClassification> typeClassifications = new HashMap<String, TypeClassification>();
+	private PsiManager typeClassificationManager;
+	private long typeClassificationModificationCount;
+
 	/**
 	 * Constructor - use {@link PsiAdapterFactory}.
 	 */
@@ -331,6 +362,175 @@ public class PsiAdapter {
 		}
 	}
 
+	/**
+	 * Classifies the type (collection, string, numeric etc.) in one pass. <p/> This gives the same result as the {@code
+	 * isXXXType} methods, but the class of the type is only resolved once and its super classes are compared against
+	 * all the classified classes. The classification is cached by the canonical text of the type until the PSI is
+	 * changed, so fields and methods of the same type share it. Type variables and classes that do not resolve are not
+	 * cached, as the same text is a different type in another class.
+	 *
+	 * @param manager the PSI manager of the project.
+	 * @param factory element factory.
+	 * @param type the type.
+	 *
+	 * @return the classification of the type.
+	 */
+	public TypeClassification classifyType(PsiManager manager, PsiElementFactory factory, PsiType type) {
+		String text = type.getCanonicalText();
+		PsiType component = type.getDeepComponentType();
+		if (component instanceof PsiClassType) {
+			PsiClass resolved = ((PsiClassType) component).resolve();
+			if (resolved == null || resolved instanceof PsiTypeParameter) {
+				return new TypeClassification(computeTypeFlags(factory, type, text));
+			}
+		}
+
+		long modificationCount = manager.getModificationTracker().getOutOfCodeBlockModificationCount();
+		synchronized (typeClassifications) {
+			if (manager != typeClassificationManager || modificationCount != typeClassificationModificationCount ||
+					typeClassifications.size() >= MAX_CACHED_TYPES) {
+				typeClassifications.clear();
+				typeClassificationManager = manager;
+				typeClassificationModificationCount = modificationCount;
+			}
+			TypeClassification classification = typeClassifications.get(text);
+			if (classification != null) {
+				return classification;
+			}
+		}
+
+		TypeClassification classification = new TypeClassification(computeTypeFlags(factory, type, text));
+		synchronized (typeClassifications) {
+			if (manager == typeClassificationManager && modificationCount == typeClassificationModificationCount) {
+				typeClassifications.put(text, classification);
+			}
+		}
+		return classification;
+	}
+
+	/**
+	 * Converts the type to the type of the source model, see {@link org.intellij.idea.plugin.genprop.model.SourceClass}.
+	 *
+	 * @param manager the PSI manager of the project.
+	 * @param factory element factory.
+	 * @param type the type.
+	 *
+	 * @return the type of the source model, classified using {@link #classifyType(PsiManager, PsiElementFactory, PsiType)}.
+	 * @since 0.16
+	 */
+	public SourceType toSourceType(PsiManager manager, PsiElementFactory factory, PsiType type) {
+		String presentableText = type.getPresentableText();
+		String erasedText;
+		PsiType component = type.getDeepComponentType();
+		if (component instanceof PsiClassType && ((PsiClassType) component).resolve() instanceof PsiTypeParameter) {
+			// the erasure of a type variable is its bound, which differs per class so it is not classified
+			erasedText = TypeConversionUtil.erasure(type).getCanonicalText();
+		} else {
+			erasedText = SourceType.erasure(presentableText);
+		}
+		return new SourceType(type.getCanonicalText(), presentableText, erasedText,
+				classifyType(manager, factory, type));
+	}
+
+	/**
+	 * Converts the modifiers to the modifiers of the source model, see {@link
+	 * org.intellij.idea.plugin.genprop.model.SourceClass}.
+	 *
+	 * @param modifiers the modifiers, null if the member has none.
+	 *
+	 * @return the modifiers of the source model.
+	 * @since 0.16
+	 */
+	public SourceModifiers toSourceModifiers(@Nullable PsiModifierList modifiers) {
+		if (modifiers == null) {
+			return SourceModifiers.NONE;
+		}
+
+		int flags = 0;
+		if (isModifierPublic(modifiers)) {
+			flags |= SourceModifiers.PUBLIC;
+		} else if (isModifierProtected(modifiers)) {
+			flags |= SourceModifiers.PROTECTED;
+		} else if (isModifierPrivate(modifiers)) {
+			flags |= SourceModifiers.PRIVATE;
+		}
+		if (isModifierStatic(modifiers)) {
+			flags |= SourceModifiers.STATIC;
+		}
+		if (isModifierFinal(modifiers)) {
+			flags |= SourceModifiers.FINAL;
+		}
+		if (isModifierTransient(modifiers)) {
+			flags |= SourceModifiers.TRANSIENT;
+		}
+		if (isModifierVolatile(modifiers)) {
+			flags |= SourceModifiers.VOLATILE;
+		}
+		if (isModifierAbstract(modifiers)) {
+			flags |= SourceModifiers.ABSTRACT;
+		}
+		if (isModifierSynchronized(modifiers)) {
+			flags |= SourceModifiers.SYNCHRONIZED;
+		}
+		return new SourceModifiers(flags);
+	}
+
+	private int computeTypeFlags(PsiElementFactory factory, PsiType type, String text) {
+		int flags = 0;
+		boolean primitive = isPrimitiveType(type);
+		boolean array = text.indexOf("[]") > 0;
+		if (primitive) {
+			flags |= TypeClassification.PRIMITIVE;
+			if (array) {
+				flags |= TypeClassification.ARRAY | TypeClassification.PRIMITIVE_ARRAY;
+			}
+			if ("boolean".equals(text)) {
+				flags |= TypeClassification.BOOLEAN;
+			}
+			if ("byte".equals(text) || "double".equals(text) || "float".equals(text) || "int".equals(text) ||
+					"long".equals(text) || "short".equals(text)) {
+				flags |= TypeClassification.NUMERIC;
+			}
+			return flags;
+		}
+
+		if (array) {
+			flags |= TypeClassification.ARRAY | TypeClassification.OBJECT_ARRAY;
+			if (text.indexOf("String[]") > 0) {
+				flags |= TypeClassification.STRING_ARRAY;
+			}
+		}
+		if (isTypeOfVoid(type)) {
+			return flags;
+		}
+
+		// resolve the class once and compare its super classes against all the classified classes
+		PsiClass clazz = type instanceof PsiClassType ? ((PsiClassType) type).resolve() : null;
+		if (clazz != null && !(clazz instanceof PsiTypeParameter) && clazz.getQualifiedName() != null) {
+			Set<PsiClass> supers = new HashSet<PsiClass>();
+			InheritanceUtil.getSuperClasses(clazz, supers, true);
+			Set<String> names = new HashSet<String>();
+			names.add(clazz.getQualifiedName());
+			for (PsiClass superClass : supers) {
+				names.add(superClass.getQualifiedName());
+			}
+			names.add("java.lang.Object"); // also for interfaces
+			for (int i = 0; i < CLASSIFIED_CLASS_NAMES.length; i++) {
+				if (names.contains(CLASSIFIED_CLASS_NAMES[i])) {
+					flags |= CLASSIFIED_FLAGS[i];
+				}
+			}
+		} else {
+			// arrays, type parameters and unresolved classes
+			for (int i = 0; i < CLASSIFIED_CLASS_NAMES.length; i++) {
+				if (isTypeOf(factory, type, CLASSIFIED_CLASS_NAMES[i])) {
+					flags |= CLASSIFIED_FLAGS[i];
+				}
+			}
+		}
+		return flags;
+	}
+
 	/**
 	 * Is the given type an array? (using [] in its name)
 	 *
@@ -561,6 +761,21 @@ public class PsiAdapter {
 		javaCodeStyleManager.optimizeImports(javaFile);
 	}
 
+	/**
+	 * Shortens the fully qualified class references in the element, the imports are added as needed.
+	 *
+	 * @param project the PSI project
+	 * @param element the element, such as a generated method
+	 *
+	 * @throws IncorrectOperationException error shortening the references.
+	 * @since 0.16
+	 */
+	public void shortenClassReferences(Project project, PsiElement element)
+			throws IncorrectOperationException {
+		JavaCodeStyleManager javaCodeStyleManager = JavaCodeStyleManager.getInstance(project);
+		javaCodeStyleManager.shortenClassReferences(element);
+	}
+
 	/**
 	 * Get's the fields fully qualified classname (etc java.lang.String, java.util.ArrayList)
 	 *
@@ -752,6 +967,34 @@ public class PsiAdapter {
 			String javadoc,
 			boolean replace)
 			throws IncorrectOperationException {
+		PsiComment comment = addJavadoc(factory, element, javadoc, replace);
+		if (comment != null) {
+			codeStyleManager.reformat(element); // to reformat javadoc
+		}
+		return comment;
+	}
+
+	/**
+	 * Add or replaces the javadoc comment to the given element without reformatting it. <p/> Used on elements not yet
+	 * inserted into the class, so they can be reformatted once after being inserted.
+	 *
+	 * @param factory element factory.
+	 * @param element the element the javadoc should be added/set to.
+	 * @param javadoc the javadoc comment.
+	 * @param replace true if any existing javadoc should be replaced. false will not replace any existing javadoc and thus
+	 * leave the javadoc untouched.
+	 *
+	 * @return the added/replace javadoc comment, null if the was an existing javadoc and it should <b>not</b> be
+	 *         replaced.
+	 *
+	 * @throws IncorrectOperationException is thrown if error adding/replacing the javadoc comment.
+	 */
+	@Nullable
+	public PsiComment addJavadoc(PsiElementFactory factory,
+			PsiDocCommentOwner element,
+			String javadoc,
+			boolean replace)
+			throws IncorrectOperationException {
 		PsiComment comment = factory.createCommentFromText(javadoc, null);
 
 		// does a method already exists?
@@ -760,7 +1003,6 @@ public class PsiAdapter {
 			if (replace) {
 				// javadoc already exists, so replace
 				doc.replace(comment);
-				codeStyleManager.reformat(element); // to reformat javadoc
 				return comment;
 			} else {
 				// do not replace existing javadoc
@@ -769,7 +1011,6 @@ public class PsiAdapter {
 		} else {
 			// add new javadoc
 			element.addBefore(comment, element.getFirstChild());
-			codeStyleManager.reformat(element); // to reformat javadoc
 			return comment;
 		}
 	}
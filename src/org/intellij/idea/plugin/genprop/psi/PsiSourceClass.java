@@ -0,0 +1,133 @@
+package org.intellij.idea.plugin.genprop.psi;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import org.intellij.idea.plugin.genprop.model.SourceClass;
+import org.intellij.idea.plugin.genprop.model.SourceField;
+import org.intellij.idea.plugin.genprop.model.SourceMethod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class of the source model backed by a {@link PsiClass}. <p/> The members are looked up using the {@link MemberIndex}
+ * of the action, so members added by the action are found as well.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PsiSourceClass
+        implements SourceClass {
+
+    private final MemberIndex index;
+    private final PsiElementFactory factory;
+    private final PsiAdapter psi;
+    private List<PsiSourceField> fields;
+    private List<PsiSourceMethod> methods;
+
+    /**
+     * Constructor.
+     *
+     * @param index   the index of the members of the class.
+     * @param factory element factory.
+     * @param psi     the psi adapter.
+     */
+    public PsiSourceClass(MemberIndex index, PsiElementFactory factory, PsiAdapter psi) {
+        this.index = index;
+        this.factory = factory;
+        this.psi = psi;
+    }
+
+    public PsiClass getPsiClass() {
+        return index.getPsiClass();
+    }
+
+    public String getName() {
+        return index.getPsiClass().getName();
+    }
+
+    public String getQualifiedName() {
+        return index.getPsiClass().getQualifiedName();
+    }
+
+    public List<PsiSourceField> getFields() {
+        if (fields == null) {
+            PsiField[] psiFields = psi.getFields(index.getPsiClass());
+            fields = new ArrayList<PsiSourceField>(psiFields.length);
+            for (PsiField field : psiFields) {
+                fields.add(new PsiSourceField(field, factory, psi));
+            }
+        }
+        return fields;
+    }
+
+    public List<PsiSourceMethod> getMethods() {
+        if (methods == null) {
+            PsiMethod[] psiMethods = psi.getMethods(index.getPsiClass());
+            methods = new ArrayList<PsiSourceMethod>(psiMethods.length);
+            for (PsiMethod method : psiMethods) {
+                methods.add(new PsiSourceMethod(method, factory, psi));
+            }
+        }
+        return methods;
+    }
+
+    @Nullable
+    public SourceField findFieldByName(String name) {
+        return wrap(index.findFieldByName(name));
+    }
+
+    @Nullable
+    public SourceField findAllFieldByName(String name) {
+        return wrap(index.findAllFieldByName(name));
+    }
+
+    @Nullable
+    public SourceMethod findMethodByName(String name) {
+        return wrap(index.findMethodByName(name));
+    }
+
+    @Nullable
+    public SourceMethod findAllMethodByName(String name) {
+        return wrap(index.findAllMethodByName(name));
+    }
+
+    public List<PsiSourceMethod> findMethodsByName(String name, boolean checkBases) {
+        List<PsiMethod> found = index.findMethodsByName(name, checkBases);
+        List<PsiSourceMethod> wrapped = new ArrayList<PsiSourceMethod>(found.size());
+        for (PsiMethod method : found) {
+            wrapped.add(wrap(method));
+        }
+        return wrapped;
+    }
+
+    /**
+     * Wraps the field as a field of the source model.
+     *
+     * @param field the field, can be null.
+     * @return the field of the source model, null if the field is null.
+     */
+    @Nullable
+    public PsiSourceField wrap(@Nullable PsiField field) {
+        return field == null ? null : new PsiSourceField(field, factory, psi);
+    }
+
+    /**
+     * Wraps the method as a method of the source model.
+     *
+     * @param method the method, can be null.
+     * @return the method of the source model, null if the method is null.
+     */
+    @Nullable
+    public PsiSourceMethod wrap(@Nullable PsiMethod method) {
+        return method == null ? null : new PsiSourceMethod(method, factory, psi);
+    }
+
+    public String toString() {
+        return index.getPsiClass().toString();
+    }
+
+}
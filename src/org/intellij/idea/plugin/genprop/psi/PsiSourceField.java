@@ -0,0 +1,71 @@
+package org.intellij.idea.plugin.genprop.psi;
+
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiField;
+import org.intellij.idea.plugin.genprop.model.SourceField;
+import org.intellij.idea.plugin.genprop.model.SourceModifiers;
+import org.intellij.idea.plugin.genprop.model.SourceType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A field of the source model backed by a {@link PsiField}. The type and modifiers are converted the first time they
+ * are used.
+ *
+ * @author Thomas Edwin Santosa
+ * @see PsiSourceClass
+ * @since 0.16
+ */
+public class PsiSourceField
+        implements SourceField {
+
+    private final PsiField field;
+    private final PsiElementFactory factory;
+    private final PsiAdapter psi;
+    private SourceType type;
+    private SourceModifiers modifiers;
+
+    /**
+     * Constructor.
+     *
+     * @param field   the field.
+     * @param factory element factory.
+     * @param psi     the psi adapter.
+     */
+    public PsiSourceField(PsiField field, PsiElementFactory factory, PsiAdapter psi) {
+        this.field = field;
+        this.factory = factory;
+        this.psi = psi;
+    }
+
+    public PsiField getPsiField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public SourceType getType() {
+        if (type == null) {
+            type = psi.toSourceType(field.getManager(), factory, field.getType());
+        }
+        return type;
+    }
+
+    @Nullable
+    public Object getConstantValue() {
+        return field.computeConstantValue();
+    }
+
+    public SourceModifiers getModifiers() {
+        if (modifiers == null) {
+            modifiers = psi.toSourceModifiers(field.getModifierList());
+        }
+        return modifiers;
+    }
+
+    public String toString() {
+        return field.toString();
+    }
+
+}
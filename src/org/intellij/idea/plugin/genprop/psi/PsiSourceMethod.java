@@ -0,0 +1,88 @@
+package org.intellij.idea.plugin.genprop.psi;
+
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import org.intellij.idea.plugin.genprop.model.SourceMethod;
+import org.intellij.idea.plugin.genprop.model.SourceModifiers;
+import org.intellij.idea.plugin.genprop.model.SourceType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A method of the source model backed by a {@link PsiMethod}. The return type, parameter types and modifiers are
+ * converted the first time they are used.
+ *
+ * @author Thomas Edwin Santosa
+ * @see PsiSourceClass
+ * @since 0.16
+ */
+public class PsiSourceMethod
+        implements SourceMethod {
+
+    private final PsiMethod method;
+    private final PsiElementFactory factory;
+    private final PsiAdapter psi;
+    private SourceType returnType;
+    private SourceModifiers modifiers;
+    private List<String> parameterTypes;
+
+    /**
+     * Constructor.
+     *
+     * @param method  the method.
+     * @param factory element factory.
+     * @param psi     the psi adapter.
+     */
+    public PsiSourceMethod(PsiMethod method, PsiElementFactory factory, PsiAdapter psi) {
+        this.method = method;
+        this.factory = factory;
+        this.psi = psi;
+    }
+
+    public PsiMethod getPsiMethod() {
+        return method;
+    }
+
+    public String getName() {
+        return method.getName();
+    }
+
+    @Nullable
+    public SourceType getReturnType() {
+        if (returnType == null) {
+            PsiType type = method.getReturnType();
+            if (type == null) {
+                return null; // constructor or not a valid return type
+            }
+            returnType = psi.toSourceType(method.getManager(), factory, type);
+        }
+        return returnType;
+    }
+
+    public List<String> getParameterTypes() {
+        if (parameterTypes == null) {
+            PsiParameter[] parameters = method.getParameterList().getParameters();
+            parameterTypes = new ArrayList<String>(parameters.length);
+            for (PsiParameter parameter : parameters) {
+                parameterTypes.add(parameter.getType().getCanonicalText());
+            }
+        }
+        return parameterTypes;
+    }
+
+    public SourceModifiers getModifiers() {
+        if (modifiers == null) {
+            modifiers = psi.toSourceModifiers(method.getModifierList());
+        }
+        return modifiers;
+    }
+
+    public String toString() {
+        return method.toString();
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.intellij.idea.plugin.genprop.statistics;
+
+/**
+ * The phases of generating code that are timed by {@link GenerationStatistics}.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public enum GenerationPhase {
+
+    /** Indexing the members of the class and looking up the inherited members to preselect the fields. */
+    DISCOVERY("Member discovery"),
+    /** Filtering the fields and methods, including building their elements. */
+    FILTER("Filtering"),
+    /** Building a field or method element. */
+    ELEMENT("Element building"),
+    /** Finding the existing members the generated code conflicts with. */
+    CONFLICTS("Conflict detection"),
+    /** Parsing the generated declarations into PSI. */
+    PSI_CREATION("PSI creation"),
+    /** Inserting the generated members into the class. */
+    INSERTION("Insertion"),
+    /** Adding the javadoc of the generated members. */
+    JAVADOC("Javadoc"),
+    /** Reformatting the generated members. */
+    REFORMAT("Reformat"),
+    /** Checking a class by the code inspection. */
+    INSPECTION("Inspection");
+
+    private final String displayName;
+
+    GenerationPhase(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+}
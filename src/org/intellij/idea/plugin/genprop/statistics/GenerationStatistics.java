@@ -0,0 +1,136 @@
+package org.intellij.idea.plugin.genprop.statistics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Timings of the phases of generating code, shown in the settings and exported to a file. <p/> A phase is timed using
+ * the monotonic {@link System#nanoTime()} clock:
+ * <pre>
+ * long start = GenerationStatistics.start();
+ * ...
+ * GenerationStatistics.stop(GenerationPhase.FILTER, start, fields.length);
+ * </pre>
+ * Phases can be nested, etc. the element building is part of the filtering. <p/> The timings are only recorded if
+ * enabled in the settings, otherwise timing a phase does not even read the clock.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public final class GenerationStatistics {
+
+    /** The start time of a phase that is not timed. */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final Map<GenerationPhase, PhaseStatistics> phases = newPhases();
+    private static volatile boolean enabled = false;
+
+    private GenerationStatistics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording the timings, disabled by default.
+     */
+    public static void setEnabled(boolean enabled) {
+        GenerationStatistics.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the start time to pass to {@link #stop(GenerationPhase, long, int)}.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Stops timing a phase that processed one item.
+     *
+     * @param phase the phase.
+     * @param start the start time returned by {@link #start()}.
+     */
+    public static void stop(GenerationPhase phase, long start) {
+        stop(phase, start, 1);
+    }
+
+    /**
+     * Stops timing a phase.
+     *
+     * @param phase the phase.
+     * @param start the start time returned by {@link #start()}.
+     * @param items the number of items processed by the phase.
+     */
+    public static void stop(GenerationPhase phase, long start, int items) {
+        if (start != NOT_TIMED && enabled) {
+            phases.get(phase).record(System.nanoTime() - start, items);
+        }
+    }
+
+    /**
+     * Get's the timings of the phase.
+     *
+     * @param phase the phase.
+     * @return the timings.
+     */
+    public static PhaseStatistics get(GenerationPhase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Clears the timings of all the phases.
+     */
+    public static void reset() {
+        for (PhaseStatistics statistics : phases.values()) {
+            statistics.reset();
+        }
+    }
+
+    /**
+     * Exports the timings of all the phases as tab separated text, one line for each phase with the times in
+     * milliseconds.
+     *
+     * @return the timings.
+     */
+    public static String export() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("phase\tcount\titems\ttotal ms\tavg ms\tmax ms\tp95 ms\n");
+        for (PhaseStatistics statistics : phases.values()) {
+            long count = statistics.getCount();
+            long total = statistics.getTotalNanos();
+            sb.append(statistics.getPhase().getDisplayName())
+                    .append('\t').append(count)
+                    .append('\t').append(statistics.getItems())
+                    .append('\t').append(toMillis(total))
+                    .append('\t').append(toMillis(count == 0 ? 0 : total / count))
+                    .append('\t').append(toMillis(statistics.getMaxNanos()))
+                    .append('\t').append(toMillis(statistics.getPercentileNanos(95)))
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds with three decimals.
+     *
+     * @param nanos the time in nanoseconds.
+     * @return the milliseconds.
+     */
+    public static String toMillis(long nanos) {
+        return String.format(Locale.US, "%.3f", nanos / 1000000.0);
+    }
+
+    private static Map<GenerationPhase, PhaseStatistics> newPhases() {
+        Map<GenerationPhase, PhaseStatistics> map = new EnumMap<GenerationPhase, PhaseStatistics>(GenerationPhase.class);
+        for (GenerationPhase phase : GenerationPhase.values()) {
+            map.put(phase, new PhaseStatistics(phase));
+        }
+        return map;
+    }
+
+}
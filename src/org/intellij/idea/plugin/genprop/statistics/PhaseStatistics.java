@@ -0,0 +1,95 @@
+package org.intellij.idea.plugin.genprop.statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The timings of one phase: the number of times it ran, the number of items (fields, members etc.) it processed, the
+ * total and the max time. The percentiles are computed over the most recent timings only, so recording a timing does
+ * not allocate. <p/> Thread-safe without locking, as the phases are timed on the highlighting threads as well; the
+ * values read while timings are recorded need not be from the same moment.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PhaseStatistics {
+
+    /** Number of the most recent timings the percentiles are computed over. */
+    private static final int MAX_SAMPLES = 1024;
+
+    private final GenerationPhase phase;
+    private final AtomicLongArray samples = new AtomicLongArray(MAX_SAMPLES);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    PhaseStatistics(GenerationPhase phase) {
+        this.phase = phase;
+    }
+
+    public GenerationPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Records a timing of the phase.
+     *
+     * @param nanos the elapsed time in nanoseconds.
+     * @param n     the number of items processed.
+     */
+    public void record(long nanos, int n) {
+        samples.set((int) (count.getAndIncrement() % MAX_SAMPLES), nanos);
+        items.addAndGet(n);
+        totalNanos.addAndGet(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getItems() {
+        return items.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Get's a percentile of the most recent timings.
+     *
+     * @param percentile the percentile, etc. 95 for p95.
+     * @return the timing in nanoseconds, 0 if the phase has not run.
+     */
+    public long getPercentileNanos(int percentile) {
+        int size = (int) Math.min(count.get(), MAX_SAMPLES);
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    void reset() {
+        count.set(0);
+        items.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+}
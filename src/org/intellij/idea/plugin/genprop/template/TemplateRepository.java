@@ -0,0 +1,212 @@
+package org.intellij.idea.plugin.genprop.template;
+
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import org.apache.log4j.Logger;
+import org.intellij.idea.plugin.genprop.exception.TemplateResourceException;
+import org.intellij.idea.plugin.genprop.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Repository of the templates in the 'genprop-plugin' folder of the IDEA plugins folder.
+ * <p/>
+ * The folder is scanned the first time the templates are needed, and the templates are cached. The folder is watched
+ * using the IDEA virtual file system, so only the templates added, changed or deleted are reloaded. The templates are
+ * reloaded when they are needed again, not when the files change.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class TemplateRepository {
+
+    private static Logger log = Logger.getLogger(TemplateRepository.class);
+
+    private static final TemplateRepository instance = new TemplateRepository();
+
+    private final File folder;
+    private final Map<String, Entry> entries = new TreeMap<String, Entry>(); // sorted by filename
+    private final Set<String> changedFiles = new HashSet<String>();
+    private boolean loaded = false;
+    private boolean watching = false;
+
+    /**
+     * Only the singleton instance.
+     */
+    private TemplateRepository() {
+        folder = new File(TemplateResourceLocator.getTemplateFolder());
+    }
+
+    public static TemplateRepository getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the user specific templates, except the autosaved templates.
+     *
+     * @return the templates, empty array if none exists.
+     */
+    public synchronized TemplateResource[] getTemplates() {
+        if (!watching) {
+            watching = startWatching();
+        }
+        if (!loaded || !watching) {
+            scan(); // without a watcher the folder must be scanned every time
+        } else if (!changedFiles.isEmpty()) {
+            for (String fileName : changedFiles) {
+                reload(new File(folder, fileName));
+            }
+        }
+        changedFiles.clear();
+
+        List<TemplateResource> resources = new ArrayList<TemplateResource>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (!entry.resource.getFileName().startsWith(TemplateResourceLocator.AUTOSAVE_ACTIVE_TEMPLATE_FILE_NAME)) {
+                resources.add(entry.resource);
+            }
+        }
+        return resources.toArray(new TemplateResource[resources.size()]);
+    }
+
+    /**
+     * Updates the cached template of a file in place, used when the file has just been saved with the content so it is
+     * not read again.
+     *
+     * @param file    the saved file in the template folder.
+     * @param content the content of the template.
+     */
+    public synchronized void update(File file, String content) {
+        if (!folder.equals(file.getAbsoluteFile().getParentFile())) {
+            return; // not a template of the repository
+        }
+        entries.put(file.getName(), new Entry(new TemplateResource(file.getName(), content), file));
+        changedFiles.remove(file.getName());
+    }
+
+    /**
+     * Marks all the templates as changed so the folder is scanned again the next time the templates are needed.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    private synchronized void fileChanged(String fileName) {
+        changedFiles.add(fileName);
+    }
+
+    private void scan() {
+        entries.clear();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile()) {
+                    reload(file);
+                }
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Reloads the template of the file, unless it has not changed since it was loaded.
+     */
+    private void reload(File file) {
+        if (!file.isFile()) {
+            entries.remove(file.getName());
+            return;
+        }
+
+        Entry entry = entries.get(file.getName());
+        if (entry != null && entry.isUpToDate(file)) {
+            return;
+        }
+
+        try {
+            log.debug("Loading template: " + file);
+            entries.put(file.getName(), new Entry(new TemplateResource(file.getName(), FileUtil.readFile(file)), file));
+        } catch (IOException e) {
+            throw new TemplateResourceException("Error loading additional templates", e);
+        }
+    }
+
+    /**
+     * Listens for changes of the files in the template folder.
+     *
+     * @return true if watching, false if IDEA is not running.
+     */
+    private boolean startWatching() {
+        Application application = ApplicationManager.getApplication();
+        if (application == null) {
+            return false;
+        }
+
+        // the paths of the virtual file system always use slashes
+        final String path = folder.getAbsolutePath().replace(File.separatorChar, '/');
+        LocalFileSystem.getInstance().addRootToWatch(path, false);
+        VirtualFile dir = LocalFileSystem.getInstance().refreshAndFindFileByPath(path);
+        if (dir != null) {
+            dir.getChildren(); // the file system only reports events of files it has loaded
+        }
+
+        application.getMessageBus().connect().subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter() {
+            @Override
+            public void after(List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    String eventPath = event.getPath();
+                    int slash = eventPath.lastIndexOf('/');
+                    if (slash < 0 || !path.equals(eventPath.substring(0, slash))) {
+                        if (eventPath.equals(path)) {
+                            invalidate(); // the folder itself is created, deleted or moved
+                        }
+                        continue;
+                    }
+
+                    if (event instanceof VFileCreateEvent
+                            || event instanceof VFileContentChangeEvent
+                            || event instanceof VFileDeleteEvent) {
+                        fileChanged(eventPath.substring(slash + 1));
+                    } else {
+                        invalidate(); // moved or renamed
+                    }
+                }
+            }
+        });
+        log.debug("Watching template folder: " + path);
+        return true;
+    }
+
+    /**
+     * A cached template and the timestamp of the file it was loaded from.
+     */
+    private static class Entry {
+        private final TemplateResource resource;
+        private final long lastModified;
+        private final long length;
+
+        private Entry(TemplateResource resource, File file) {
+            this.resource = resource;
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+        }
+
+        private boolean isUpToDate(File file) {
+            return lastModified == file.lastModified() && length == file.length();
+        }
+    }
+
+}
@@ -89,38 +89,13 @@ public class TemplateResourceLocator {
 
     /**
      * Get the additional user specific templates from the 'genprop-plugin' subfolder.
+     * <p/>
+     * The templates are cached by the {@link TemplateRepository} that only reloads the changed files.
      *
      * @return additional templates, null or empty array if none exists.
      */
     public static TemplateResource[] getAdditionalTemplates() {
-        String path = getTemplateFolder();
-
-        // check for sub folder exists
-        File dir = new File(path);
-        if (!dir.exists()) {
-            return null;
-        }
-
-        // add each file in the folder
-        List resources = new ArrayList();
-        File[] files = dir.listFiles();
-        for (int i = 0; i < files.length; i++) {
-            File file = files[i];
-
-            // add file if it is not the autosaved template
-            if (!file.getName().startsWith(AUTOSAVE_ACTIVE_TEMPLATE_FILE_NAME)) {
-                String body = null;
-                try {
-                    body = FileUtil.readFile(file);
-                } catch (IOException e) {
-                    throw new TemplateResourceException("Error loading additional templates", e);
-                }
-                TemplateResource tr = new TemplateResource(file.getName(), body);
-                resources.add(tr);
-            }
-        }
-
-        return (TemplateResource[]) resources.toArray(new TemplateResource[resources.size()]);
+        return TemplateRepository.getInstance().getTemplates();
     }
 
     /**
@@ -194,6 +169,7 @@ public class TemplateResourceLocator {
             String filename = getTemplateFolder() + File.separatorChar + AUTOSAVE_ACTIVE_TEMPLATE_FILE_NAME + '_' + Version.VERSION_NO_DOT + ".vm";
             log.debug("Autosaving active template: filename='" + filename + "'");
             FileUtil.saveFile(filename, content);
+            TemplateRepository.getInstance().update(new File(filename), content);
         } catch (IOException e) {
             throw new TemplateResourceException("Error autosaving active template", e);
         }
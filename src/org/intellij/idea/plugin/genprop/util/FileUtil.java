@@ -1,14 +1,32 @@
 package org.intellij.idea.plugin.genprop.util;
 
 import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 
 /**
  * Utility methods for file IO.
+ * <p/>
+ * The files are read and written in bulk using NIO channels and the content is encoded as UTF-8.
  *
  * @author Claus Ibsen
  */
 public class FileUtil {
 
+    /**
+     * The charset of the files.
+     */
+    public static final Charset CHARSET = Charset.forName("UTF-8");
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
     /**
      * Private constructor, as only static methods allowed.
      */
@@ -17,15 +35,32 @@ public class FileUtil {
 
     /**
      * Reads the files content and return it as a String.
-     * <p/>Uses the contect classloader from the current thread.
+     * <p/>Uses the classloader of this class. Resources that are files (not in a jar) are read as files.
      *
      * @param resource the resouce name. Will lookup using the classpath.
      * @return the content
      * @throws IOException error reading the file.
      */
     public static String readFile(String resource) throws IOException {
-        BufferedInputStream in = new BufferedInputStream(FileUtil.class.getResourceAsStream(resource));
-        return readFileContent(in);
+        URL url = FileUtil.class.getResource(resource);
+        if (url == null) {
+            throw new FileNotFoundException("Resource not found: " + resource);
+        }
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return readFile(new File(url.toURI()));
+            } catch (URISyntaxException e) {
+                // not a valid file name so read it as a stream below
+            }
+        }
+
+        InputStream in = url.openStream();
+        try {
+            return readFileContent(Channels.newChannel(in));
+        } finally {
+            in.close();
+        }
     }
 
     /**
@@ -36,42 +71,103 @@ public class FileUtil {
      * @throws IOException error reading file.
      */
     public static String readFile(File file) throws IOException {
-        BufferedInputStream in = new BufferedInputStream(new FileInputStream(file));
-        return readFileContent(in);
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+
+            // not memory mapped, as a mapped file stays locked on Windows until the buffer is garbage collected
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // read until the buffer is full or the end of file, as the file may be truncated while reading
+            }
+            buffer.flip();
+            return decode(buffer);
+        } finally {
+            in.close();
+        }
     }
 
     /**
-     * Reads the files content and return it as a String.
+     * Reads the content of the channel and return it as a String.
      *
-     * @param in the file input stream.
-     * @return the file content.
-     * @throws IOException error reading the file.
+     * @param channel the channel to read.
+     * @return the content.
+     * @throws IOException error reading the channel.
+     */
+    private static String readFileContent(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) != -1) {
+            if (!buffer.hasRemaining()) {
+                // grow the buffer
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+        buffer.flip();
+        return decode(buffer);
+    }
+
+    /**
+     * Decodes the content as UTF-8. Files saved by older versions of this plugin used the platform charset, so content
+     * that is not valid UTF-8 is decoded using the platform charset.
+     *
+     * @param buffer the content.
+     * @return the decoded content.
      */
-    private static String readFileContent(InputStream in) throws IOException {
-        StringBuffer buf = new StringBuffer();
-        for (int i = in.read(); i != -1; i = in.read()) {
-            buf.append((char) i);
+    private static String decode(ByteBuffer buffer) {
+        try {
+            return CHARSET.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(buffer.duplicate())
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return Charset.defaultCharset().decode(buffer).toString();
         }
-        return buf.toString();
     }
 
     /**
      * Saves the content to the file.
+     * <p/>The content is written to a temporary file in the same folder that is renamed to the file, so the file is
+     * never left half written.
      *
      * @param filename absolute filename of the new file.
      * @param content  the content of the file to be saved.
      * @throws IOException any error saving the content to the file.
      */
     public static void saveFile(String filename, String content) throws IOException {
-        FileOutputStream fos = null;
-        BufferedOutputStream bos = null;
+        File file = new File(filename).getAbsoluteFile();
+        // the prefix of a temporary file must be at least 3 characters, the name may be shorter
+        File temp = File.createTempFile(file.getName() + ".save", ".tmp", file.getParentFile());
+        boolean saved = false;
         try {
-            fos = new FileOutputStream(filename);
-            bos = new BufferedOutputStream(fos);
-            bos.write(content.getBytes(), 0, content.length());
+            ByteBuffer buffer = CHARSET.encode(content);
+            FileOutputStream out = new FileOutputStream(temp);
+            try {
+                FileChannel channel = out.getChannel();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } finally {
+                out.close();
+            }
+
+            // rename fails on some platforms if the file exists
+            if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+                throw new IOException("Error renaming " + temp + " to " + file);
+            }
+            saved = true;
         } finally {
-            if (bos != null) bos.close();
-            if (fos != null) fos.close();
+            if (!saved) {
+                temp.delete();
+            }
         }
     }
 
@@ -1,6 +1,7 @@
 package org.intellij.idea.plugin.genprop.util;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * String utility methods.
@@ -9,6 +10,16 @@ import org.apache.commons.lang.StringUtils;
  */
 public class StringUtil {
 
+    /**
+     * Max number of field names to cache the generated names of, the cache is cleared when it is full.
+     */
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    private static final String PROPERTY_CONSTANT_PREFIX = "PROPERTYNAME_";
+    private static final String PROPERTY_INDEX_PREFIX = "PROPERTYINDEX_";
+
+    private static final ConcurrentMap<String, Names> namesCache = new ConcurrentHashMap<String, Names>();
+
     /**
      * Private constructor, to prevent instances of this class, since it only has static members.
      */
@@ -144,40 +155,164 @@ public class StringUtil {
         }
     }
 
+    /**
+     * Generates the name of the property name constant of the field. <p/> <br/>Example: firstName =>
+     * PROPERTYNAME_FIRST_NAME
+     *
+     * @param name the field name.
+     * @return the constant name.
+     */
     public static String generatePropertyConstantName(String name) {
-        StringBuilder buffer = new StringBuilder("PROPERTYNAME_".length() + name.length() + 5);
-        buffer.append("PROPERTYNAME_");
-        char[] chars = name.toCharArray();
-        for (int i = 0; i < chars.length; i++) {
-            char c = chars[i];
-            if (Character.isUpperCase(c)) {
-                buffer.append('_');
-                buffer.append(c);
-            } else {
-                buffer.append(Character.toUpperCase(c));
-            }
-        }
-        return buffer.toString();
+        return names(name).constantName;
+    }
+
+    /**
+     * Generates the uppercase name of the field, the property name constant without the prefix. <p/> <br/>Example:
+     * firstName => FIRST_NAME
+     *
+     * @param name the field name.
+     * @return the uppercase name.
+     */
+    public static String generateUpperCaseName(String name) {
+        return names(name).constantName.substring(PROPERTY_CONSTANT_PREFIX.length());
+    }
+
+    /**
+     * Is the name the name of a property name constant (starts with PROPERTYNAME_)?
+     *
+     * @param name the field name.
+     * @return true if the name is a property name constant.
+     */
+    public static boolean isPropertyConstantName(String name) {
+        return name != null && name.startsWith(PROPERTY_CONSTANT_PREFIX);
+    }
+
+    /**
+     * Generates the name of the property index constant of a property name constant. <p/> <br/>Example:
+     * PROPERTYNAME_FIRST_NAME => PROPERTYINDEX_FIRST_NAME
+     *
+     * @param constantName the property name constant.
+     * @return the index constant name.
+     */
+    public static String generatePropertyIndexName(String constantName) {
+        return PROPERTY_INDEX_PREFIX + constantName.substring(PROPERTY_CONSTANT_PREFIX.length());
+    }
+
+    /**
+     * Is the name the name of a property index constant (starts with PROPERTYINDEX_)?
+     *
+     * @param name the field name.
+     * @return true if the name is a property index constant.
+     */
+    public static boolean isPropertyIndexName(String name) {
+        return name != null && name.startsWith(PROPERTY_INDEX_PREFIX);
     }
 
+    /**
+     * Generates the name of the setter of the field. <p/> <br/>Example: firstName => setFirstName
+     *
+     * @param name the field name.
+     * @return the setter name.
+     */
     public static String generateSetterName(String name) {
-        StringBuilder buffer = new StringBuilder();
-        buffer.append("set");
-        buffer.append(StringUtils.capitalize(name));
-        return buffer.toString();
+        return name == null ? "setnull" : names(name).setterName;
     }
 
+    /**
+     * Generates the name of the getter of the field. <p/> <br/>Example: firstName => getFirstName
+     *
+     * @param name the field name.
+     * @return the getter name.
+     */
     public static String generateGetterNameGeneral(String name) {
-        StringBuilder buffer = new StringBuilder();
-        buffer.append("get");
-        buffer.append(StringUtils.capitalize(name));
-        return buffer.toString();
+        return name == null ? "getnull" : names(name).getterName;
     }
 
+    /**
+     * Generates the name of the getter of the boolean field. <p/> <br/>Example: active => isActive
+     *
+     * @param name the field name.
+     * @return the getter name.
+     */
     public static String generateGetterNameBoolean(String name) {
-        StringBuilder buffer = new StringBuilder();
-        buffer.append("is");
-        buffer.append(StringUtils.capitalize(name));
-        return buffer.toString();
+        return name == null ? "isnull" : names(name).booleanGetterName;
+    }
+
+    /**
+     * Get's the generated names of the field, so the same String instances are returned for the same field name.
+     */
+    private static Names names(String name) {
+        Names names = namesCache.get(name);
+        if (names == null) {
+            if (namesCache.size() >= MAX_CACHED_NAMES) {
+                namesCache.clear();
+            }
+            names = new Names(name);
+            Names existing = namesCache.putIfAbsent(name, names);
+            if (existing != null) {
+                names = existing;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * The names generated from a field name.
+     */
+    private static final class Names {
+        private final String constantName;
+        private final String setterName;
+        private final String getterName;
+        private final String booleanGetterName;
+
+        private Names(String name) {
+            constantName = constantName(name);
+            setterName = accessorName("set", name);
+            getterName = accessorName("get", name);
+            booleanGetterName = accessorName("is", name);
+        }
+
+        /**
+         * The constant prefix followed by the name in uppercase, with an underscore before each uppercase char.
+         */
+        private static String constantName(String name) {
+            int length = name.length();
+            int upperCase = 0;
+            for (int i = 0; i < length; i++) {
+                if (Character.isUpperCase(name.charAt(i))) {
+                    upperCase++;
+                }
+            }
+
+            char[] chars = new char[PROPERTY_CONSTANT_PREFIX.length() + length + upperCase];
+            PROPERTY_CONSTANT_PREFIX.getChars(0, PROPERTY_CONSTANT_PREFIX.length(), chars, 0);
+            int pos = PROPERTY_CONSTANT_PREFIX.length();
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                if (Character.isUpperCase(c)) {
+                    chars[pos++] = '_';
+                    chars[pos++] = c;
+                } else {
+                    chars[pos++] = Character.toUpperCase(c);
+                }
+            }
+            return new String(chars);
+        }
+
+        /**
+         * The prefix followed by the name with the first char in titlecase (as commons-lang StringUtils.capitalize).
+         */
+        private static String accessorName(String prefix, String name) {
+            int length = name.length();
+            if (length == 0) {
+                return prefix;
+            }
+
+            char[] chars = new char[prefix.length() + length];
+            prefix.getChars(0, prefix.length(), chars, 0);
+            chars[prefix.length()] = Character.toTitleCase(name.charAt(0));
+            name.getChars(1, length, chars, prefix.length() + 1);
+            return new String(chars);
+        }
     }
 }
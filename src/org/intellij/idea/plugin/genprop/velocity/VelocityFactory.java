@@ -1,36 +1,176 @@
 package org.intellij.idea.plugin.genprop.velocity;
 
 import org.apache.commons.collections.ExtendedProperties;
+import org.apache.log4j.Logger;
+import org.apache.velocity.Template;
 import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.RuntimeServices;
 import org.apache.velocity.runtime.log.SimpleLog4JLogSystem;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.apache.velocity.runtime.parser.node.SimpleNode;
+
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Velocity factory. <p/> Creating instances of the VelocityEngine.
+ * Velocity factory. <p/> Creating instances of the VelocityEngine. <p/> Initializing an engine is expensive, so a shared
+ * runtime is initialized the first time it is used, and the templates parsed by it are cached keyed by a hash of the
+ * template body. The shared runtime and the cached templates are thread-safe. The cache should be invalidated when the
+ * templates are changed using {@link #invalidate()}.
  *
  * @author Claus Ibsen
  * @since 2.19
  */
 public class VelocityFactory {
 
+    private static final Logger log = Logger.getLogger(VelocityFactory.class);
+
+    /** Max number of parsed templates to keep in the cache. */
+    private static final int MAX_CACHED_TEMPLATES = 16;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Object runtimeLock = new Object();
+    private static volatile RuntimeInstance runtime;
+
+    // least recently used templates are removed when the cache is full
+    private static final Map<String, Template> templates = new LinkedHashMap<String, Template>(
+            MAX_CACHED_TEMPLATES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
     private VelocityFactory() {
     }
 
     /**
      * Returns a new instance of the VelocityEngine. <p/> The engine is initialized and outputs its logging to IDEA
-     * logging.
+     * logging. <p/> Prefer {@link #getTemplate(String)} that uses the shared runtime and caches the parsed template.
      *
      * @return a new velocity engine that is initialized.
      * @throws Exception error creating the VelocityEngine.
      */
     public static VelocityEngine newVeloictyEngine()
             throws Exception {
-        ExtendedProperties prop = new ExtendedProperties();
-        prop.addProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM_CLASS, SimpleLog4JLogSystem.class.getName());
-        prop.addProperty("runtime.log.logsystem.log4j.category", "GenerateProperty");
         VelocityEngine velocity = new VelocityEngine();
-        velocity.setExtendedProperties(prop);
+        velocity.setExtendedProperties(newProperties());
         velocity.init();
         return velocity;
     }
 
+    /**
+     * Returns the shared velocity runtime. <p/> The runtime is initialized the first time it is used and outputs its
+     * logging to IDEA logging.
+     *
+     * @return the shared velocity runtime that is initialized.
+     * @throws Exception error initializing the runtime.
+     * @since 0.16
+     */
+    public static RuntimeServices getRuntime()
+            throws Exception {
+        RuntimeInstance result = runtime;
+        if (result == null) {
+            synchronized (runtimeLock) {
+                result = runtime;
+                if (result == null) {
+                    result = new RuntimeInstance();
+                    result.setConfiguration(newProperties());
+                    result.init();
+                    runtime = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the parsed template for the template body. <p/> The template is only parsed if it is not in the cache
+     * already. The returned template can be merged by several threads at once.
+     *
+     * @param body the template body (Velocity Macro Language).
+     * @return the parsed template.
+     * @throws ParseErrorException is thrown if the template body has syntax errors.
+     * @throws Exception           error initializing the runtime or the template.
+     * @since 0.16
+     */
+    public static Template getTemplate(String body)
+            throws Exception {
+        String key = hash(body);
+        synchronized (templates) {
+            Template template = templates.get(key);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        // parse outside the lock, at worst the same body is parsed twice
+        RuntimeServices rs = getRuntime();
+        SimpleNode node;
+        try {
+            node = rs.parse(new StringReader(body), key);
+        } catch (ParseException e) {
+            throw new ParseErrorException(e.getMessage());
+        }
+        Template template = new Template();
+        template.setName(key);
+        template.setRuntimeServices(rs);
+        template.setData(node);
+        template.initDocument();
+
+        synchronized (templates) {
+            templates.put(key, template);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Parsed and cached template " + key);
+        }
+        return template;
+    }
+
+    /**
+     * Removes all the parsed templates from the cache. <p/> Should be invoked when the templates are changed, such as
+     * when a template is activated or saved.
+     *
+     * @since 0.16
+     */
+    public static void invalidate() {
+        synchronized (templates) {
+            templates.clear();
+        }
+        log.debug("Template cache invalidated");
+    }
+
+    private static ExtendedProperties newProperties() {
+        ExtendedProperties prop = new ExtendedProperties();
+        prop.addProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM_CLASS, SimpleLog4JLogSystem.class.getName());
+        prop.addProperty("runtime.log.logsystem.log4j.category", "GenerateProperty");
+        return prop;
+    }
+
+    /**
+     * Hashes the template body using MD5, the hex string of the hash is used as the key of the cache.
+     */
+    private static String hash(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(body.getBytes("UTF-8"));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not supported", e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported", e);
+        }
+    }
+
 }
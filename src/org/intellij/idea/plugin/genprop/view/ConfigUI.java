@@ -3,13 +3,13 @@ package org.intellij.idea.plugin.genprop.view;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.ui.HyperlinkLabel;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.exception.ParseErrorException;
 import org.intellij.idea.plugin.genprop.config.Config;
 import org.intellij.idea.plugin.genprop.config.ConflictResolutionPolicy;
 import org.intellij.idea.plugin.genprop.exception.PluginException;
 import org.intellij.idea.plugin.genprop.exception.TemplateResourceException;
 import org.intellij.idea.plugin.genprop.template.TemplateResource;
+import org.intellij.idea.plugin.genprop.template.TemplateRepository;
 import org.intellij.idea.plugin.genprop.template.TemplateResourceLocator;
 import org.intellij.idea.plugin.genprop.util.FileUtil;
 import org.intellij.idea.plugin.genprop.util.StringUtil;
@@ -25,6 +25,7 @@ import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Arrays;
@@ -50,6 +51,17 @@ public class ConfigUI
     private JCheckBox disableActionInMenus = new JCheckBox("Disable action in code and editor popup menus");
     private JCheckBox enableInspectionOnTheFly = new JCheckBox("Enable on-the-fly code inspection");
     private JCheckBox enableMethods = new JCheckBox("Enable getters in code generation ($methods)");
+    private JCheckBox primitiveSetters = new JCheckBox("Use typed bound setters for primitive fields (no boxing)");
+    private JCheckBox setterEqualityCheck = new JCheckBox("Return from bound setters if the value is unchanged");
+    private JCheckBox setterIdentityCheck = new JCheckBox("Compare objects by identity only (==) in bound setters");
+    private JCheckBox generateChangeSupport = new JCheckBox("Add lazily created property change listener support");
+    private JCheckBox atomicSetters = new JCheckBox("Use atomic bound setters for volatile fields");
+    private JCheckBox varHandles = new JCheckBox("Use VarHandle (Java 9) instead of atomic field updaters");
+    private JCheckBox listenerDispatcher = new JCheckBox("Use a per-property listener dispatcher as listener support");
+    private JCheckBox propertyEnum = new JCheckBox("Add a nested Property enum to the property name constants");
+    private JCheckBox dirtyTracking = new JCheckBox("Track changed properties in a dirty bitmask in setters");
+    private JCheckBox dirtyOnly = new JCheckBox("Only track changed properties, no property change events");
+    private JCheckBox recordStatistics = new JCheckBox("Record the timings of generating code (see Statistics)");
 
     private JRadioButton[] initialValueForReplaceDialog;
 
@@ -126,6 +138,17 @@ public class ConfigUI
         panel.add(disableActionInMenus);
         panel.add(enableInspectionOnTheFly);
         panel.add(enableMethods);
+        panel.add(primitiveSetters);
+        panel.add(setterEqualityCheck);
+        panel.add(setterIdentityCheck);
+        panel.add(generateChangeSupport);
+        panel.add(listenerDispatcher);
+        panel.add(atomicSetters);
+        panel.add(varHandles);
+        panel.add(propertyEnum);
+        panel.add(dirtyTracking);
+        panel.add(dirtyOnly);
+        panel.add(recordStatistics);
         constraint.gridx = 0;
         constraint.gridy = 0;
         add(panel, constraint);
@@ -268,6 +291,17 @@ public class ConfigUI
         autoImportPackages.setEnabled(autoImport.isSelected());
         enableInspectionOnTheFly.setSelected(config.isInspectionOnTheFly());
         enableMethods.setSelected(config.isEnableMethods());
+        primitiveSetters.setSelected(config.isPrimitiveSetters());
+        setterEqualityCheck.setSelected(config.isSetterEqualityCheck());
+        setterIdentityCheck.setSelected(config.isSetterIdentityCheck());
+        generateChangeSupport.setSelected(config.isGenerateChangeSupport());
+        listenerDispatcher.setSelected(config.isListenerDispatcher());
+        atomicSetters.setSelected(config.isAtomicSetters());
+        varHandles.setSelected(config.isVarHandles());
+        propertyEnum.setSelected(config.isPropertyEnum());
+        dirtyTracking.setSelected(config.isDirtyTracking());
+        dirtyOnly.setSelected(config.isDirtyOnly());
+        recordStatistics.setSelected(config.isRecordStatistics());
     }
 
     /**
@@ -302,6 +336,17 @@ public class ConfigUI
         config.setAutoImports(autoImport.isSelected());
         config.setInspectionOnTheFly(enableInspectionOnTheFly.isSelected());
         config.setEnableMethods(enableMethods.isSelected());
+        config.setPrimitiveSetters(primitiveSetters.isSelected());
+        config.setSetterEqualityCheck(setterEqualityCheck.isSelected());
+        config.setSetterIdentityCheck(setterIdentityCheck.isSelected());
+        config.setGenerateChangeSupport(generateChangeSupport.isSelected());
+        config.setListenerDispatcher(listenerDispatcher.isSelected());
+        config.setAtomicSetters(atomicSetters.isSelected());
+        config.setVarHandles(varHandles.isSelected());
+        config.setPropertyEnum(propertyEnum.isSelected());
+        config.setDirtyTracking(dirtyTracking.isSelected());
+        config.setDirtyOnly(dirtyOnly.isSelected());
+        config.setRecordStatistics(recordStatistics.isSelected());
 
         return config;
     }
@@ -366,6 +411,7 @@ public class ConfigUI
                 TemplateResource selected = (TemplateResource) templates.getSelectedItem();
                 activeTemplate.setTemplate(selected.getTemplate());
                 methodBody.setText(selected.getTemplate()); // update method body with new body
+                VelocityFactory.invalidate(); // the previous active template is no longer needed
                 templates.setSelectedIndex(0); // set index to active template
             }
         }
@@ -419,6 +465,8 @@ public class ConfigUI
 
                         // save the file
                         FileUtil.saveFile(filename, res.getTemplate());
+                        TemplateRepository.getInstance().update(new File(filename), res.getTemplate());
+                        VelocityFactory.invalidate(); // the saved template may replace a cached one
 
                         // if file does not already exists add it to the template combobox so it is updated
                         if (!existsTemplate) {
@@ -458,13 +506,8 @@ public class ConfigUI
                 StringWriter sw = new StringWriter();
                 VelocityContext vc = new VelocityContext();
 
-                // velocity
-                VelocityEngine velocity = VelocityFactory.newVeloictyEngine();
-                velocity.evaluate(
-                        vc,
-                        sw,
-                        "org.intellij.idea.plugin.genprop.view.ConfigUI$OnSyntaxCheck",
-                        methodBody.getText());
+                // velocity - the template is parsed using the shared runtime and cached for generating code
+                VelocityFactory.getTemplate(methodBody.getText()).merge(vc, sw);
 
                 // no errors
                 Messages.showMessageDialog(
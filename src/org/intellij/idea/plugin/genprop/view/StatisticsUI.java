@@ -0,0 +1,160 @@
+package org.intellij.idea.plugin.genprop.view;
+
+import org.intellij.idea.plugin.genprop.exception.PluginException;
+import org.intellij.idea.plugin.genprop.statistics.GenerationPhase;
+import org.intellij.idea.plugin.genprop.statistics.GenerationStatistics;
+import org.intellij.idea.plugin.genprop.statistics.PhaseStatistics;
+import org.intellij.idea.plugin.genprop.util.FileUtil;
+
+import javax.swing.*;
+import javax.swing.border.EtchedBorder;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generation Statistics User Interface. </p> Shows the timings of the phases of generating code next to the settings,
+ * see {@link GenerationStatistics}. The timings are only recorded if enabled in the settings, and can be exported to
+ * a file to attach to a bug report.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class StatisticsUI
+        extends JPanel {
+
+    private static final String[] COLUMNS = {"Phase", "Count", "Items", "Total ms", "Avg ms", "Max ms", "p95 ms"};
+
+    private final StatisticsTableModel model = new StatisticsTableModel();
+    private JButton refresh = new JButton("Refresh");
+    private JButton reset = new JButton("Reset");
+    private JButton export = new JButton("Export...");
+
+    /**
+     * Constructor.
+     */
+    public StatisticsUI() {
+        init();
+    }
+
+    /**
+     * Initializes the GUI. <p/> Creating all the swing controls, panels etc.
+     */
+    private void init() {
+        setLayout(new BorderLayout());
+
+        JTable table = new JTable(model);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createEtchedBorder(EtchedBorder.LOWERED), "Generation statistics"));
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttons = new JPanel();
+        buttons.setLayout(new BoxLayout(buttons, BoxLayout.LINE_AXIS));
+        buttons.add(refresh);
+        refresh.addActionListener(new OnRefresh());
+        buttons.add(reset);
+        reset.addActionListener(new OnReset());
+        buttons.add(export);
+        export.addActionListener(new OnExport());
+        buttons.add(Box.createHorizontalGlue());
+        add(buttons, BorderLayout.SOUTH);
+
+        // refresh the timings each time the tab is shown
+        addHierarchyListener(new HierarchyListener() {
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                    model.fireTableDataChanged();
+                }
+            }
+        });
+    }
+
+    /**
+     * The timings of the phases, one row for each phase.
+     */
+    private static class StatisticsTableModel
+            extends AbstractTableModel {
+
+        public int getRowCount() {
+            return GenerationPhase.values().length;
+        }
+
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        public Object getValueAt(int row, int column) {
+            PhaseStatistics statistics = GenerationStatistics.get(GenerationPhase.values()[row]);
+            long count = statistics.getCount();
+            switch (column) {
+                case 0:
+                    return statistics.getPhase().getDisplayName();
+                case 1:
+                    return count;
+                case 2:
+                    return statistics.getItems();
+                case 3:
+                    return GenerationStatistics.toMillis(statistics.getTotalNanos());
+                case 4:
+                    return GenerationStatistics.toMillis(count == 0 ? 0 : statistics.getTotalNanos() / count);
+                case 5:
+                    return GenerationStatistics.toMillis(statistics.getMaxNanos());
+                default:
+                    return GenerationStatistics.toMillis(statistics.getPercentileNanos(95));
+            }
+        }
+    }
+
+    /**
+     * Action listener for user clicking refresh
+     */
+    private class OnRefresh
+            implements ActionListener {
+        public void actionPerformed(ActionEvent event) {
+            model.fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Action listener for user clicking reset
+     */
+    private class OnReset
+            implements ActionListener {
+        public void actionPerformed(ActionEvent event) {
+            GenerationStatistics.reset();
+            model.fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Action listener for user exporting the statistics
+     */
+    private class OnExport
+            implements ActionListener {
+        public void actionPerformed(ActionEvent event) {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Export Statistics");
+            chooser.setMultiSelectionEnabled(false);
+            chooser.setSelectedFile(new File("genprop-statistics.txt"));
+            if (chooser.showSaveDialog(StatisticsUI.this) == JFileChooser.APPROVE_OPTION) {
+                try {
+                    FileUtil.saveFile(chooser.getSelectedFile().getPath(), GenerationStatistics.export());
+                } catch (IOException e) {
+                    throw new PluginException("Error exporting statistics", e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.intellij.idea.plugin.genprop.config;
+
+import junit.framework.TestCase;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Tests the filtering of the fields by the modifier flags and of the fields and methods by name.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class FilterPatternTest
+        extends TestCase {
+
+    private final FilterPattern pattern = new FilterPattern();
+
+    public void testNothingFilteredByDefault() {
+        int all = FilterPattern.CONSTANT_FIELD | FilterPattern.STATIC_MODIFIER | FilterPattern.TRANSIENT_MODIFIER;
+        assertFalse(pattern.isFieldFiltered(all, "name"));
+        assertFalse(pattern.isMethodFiltered("getName"));
+    }
+
+    public void testConstantField() {
+        pattern.setConstantField(true);
+        assertTrue(pattern.isFieldFiltered(FilterPattern.CONSTANT_FIELD | FilterPattern.STATIC_MODIFIER, "NAME"));
+        assertFalse(pattern.isFieldFiltered(FilterPattern.STATIC_MODIFIER, "name"));
+        assertFalse(pattern.isFieldFiltered(0, "name"));
+    }
+
+    public void testStaticModifier() {
+        pattern.setStaticModifier(true);
+        assertTrue(pattern.isFieldFiltered(FilterPattern.STATIC_MODIFIER, "name"));
+        assertTrue(pattern.isFieldFiltered(FilterPattern.CONSTANT_FIELD | FilterPattern.STATIC_MODIFIER, "NAME"));
+        assertFalse(pattern.isFieldFiltered(FilterPattern.TRANSIENT_MODIFIER, "name"));
+    }
+
+    public void testTransientModifier() {
+        pattern.setTransientModifier(true);
+        assertTrue(pattern.isFieldFiltered(FilterPattern.TRANSIENT_MODIFIER, "name"));
+        assertFalse(pattern.isFieldFiltered(FilterPattern.STATIC_MODIFIER, "name"));
+    }
+
+    public void testModifierTurnedOff() {
+        pattern.setStaticModifier(true);
+        pattern.setTransientModifier(true);
+        pattern.setStaticModifier(false);
+        assertFalse(pattern.isStaticModifier());
+        assertFalse(pattern.isFieldFiltered(FilterPattern.STATIC_MODIFIER, "name"));
+        assertTrue(pattern.isFieldFiltered(FilterPattern.TRANSIENT_MODIFIER, "name"));
+    }
+
+    public void testFieldName() {
+        pattern.setFieldName("log|_.*");
+        assertTrue(pattern.isFieldFiltered(0, "log"));
+        assertTrue(pattern.isFieldFiltered(0, "_cache"));
+        // the whole name must match
+        assertFalse(pattern.isFieldFiltered(0, "logger"));
+        assertFalse(pattern.isFieldFiltered(0, "name"));
+    }
+
+    public void testFieldNameChanged() {
+        pattern.setFieldName("log");
+        assertTrue(pattern.isFieldFiltered(0, "log"));
+        pattern.setFieldName("name");
+        assertFalse(pattern.isFieldFiltered(0, "log"));
+        assertTrue(pattern.isFieldFiltered(0, "name"));
+        pattern.setFieldName("");
+        assertFalse(pattern.isFieldFiltered(0, "name"));
+    }
+
+    public void testFlagsAndFieldName() {
+        pattern.setTransientModifier(true);
+        pattern.setFieldName("log");
+        assertTrue(pattern.isFieldFiltered(FilterPattern.TRANSIENT_MODIFIER, "name"));
+        assertTrue(pattern.isFieldFiltered(0, "log"));
+        assertFalse(pattern.isFieldFiltered(FilterPattern.STATIC_MODIFIER, "name"));
+    }
+
+    public void testMethodName() {
+        pattern.setMethodName("get.*Internal");
+        assertTrue(pattern.isMethodFiltered("getStateInternal"));
+        assertFalse(pattern.isMethodFiltered("getState"));
+        pattern.setMethodName(null);
+        assertFalse(pattern.isMethodFiltered("getStateInternal"));
+    }
+
+    public void testInvalidFieldName() {
+        pattern.setFieldName("[");
+        try {
+            pattern.isFieldFiltered(0, "name");
+            fail("the regular expression is invalid");
+        } catch (PatternSyntaxException e) {
+            // expected
+        }
+    }
+
+}
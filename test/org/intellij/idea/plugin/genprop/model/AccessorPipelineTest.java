@@ -0,0 +1,163 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the dirty tracking of the setters generated on a class in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class AccessorPipelineTest
+        extends TestCase {
+
+    private static final SourceType LONG = new SourceType("long", "long",
+            new TypeClassification(TypeClassification.PRIMITIVE | TypeClassification.NUMERIC));
+    private static final SourceType VOID = new SourceType("void", "void", new TypeClassification(0));
+
+    private final AccessorPipeline pipeline = new AccessorPipeline();
+
+    private final SourceField firstName = MemorySources.stringField("firstName");
+    private final SourceField age = MemorySources.intField("age");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        pipeline.setClassName("Person");
+        pipeline.setDirtyTracking(true);
+        pipeline.setDirtyOnly(true);
+    }
+
+    public void testDirtySetter() {
+        assertFalse(pipeline.isBound());
+        assertEquals("public void setAge(int age) {\n" +
+                "markDirty(PROPERTYINDEX_AGE);\n" +
+                "this.age = age;\n" +
+                "}", pipeline.setterDeclaration(MemorySources.elements(age).get(0)));
+    }
+
+    public void testDirtySetterWithEqualityCheck() {
+        pipeline.setEqualityCheck(true);
+        assertEquals("public void setFirstName(String firstName) {\n" +
+                "if (java.util.Objects.equals(this.firstName, firstName)) {\nreturn;\n}\n" +
+                "markDirty(PROPERTYINDEX_FIRST_NAME);\n" +
+                "this.firstName = firstName;\n" +
+                "}", pipeline.setterDeclaration(MemorySources.elements(firstName).get(0)));
+    }
+
+    public void testDirtyMask() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age);
+        List<String> declarations = pipeline.replacedDeclarations(clazz, MemorySources.elements(firstName, age));
+        assertEquals(Arrays.asList(
+                "public static final int PROPERTYINDEX_FIRST_NAME = 0;",
+                "public static final int PROPERTYINDEX_AGE = 1;",
+                "private long dirtyProperties;",
+                "private void markDirty(int index) {\ndirtyProperties |= 1L << index;\n}",
+                "public boolean isDirty(int index) {\nreturn (dirtyProperties & 1L << index) != 0;\n}",
+                "public long[] dirtyMask() {\nreturn new long[] {dirtyProperties};\n}",
+                "public void clearDirty() {\ndirtyProperties = 0L;\n}"),
+                declarations);
+        assertEquals(Collections.<String>emptyList(), pipeline.supportDeclarations(clazz,
+                MemorySources.elements(firstName, age)));
+    }
+
+    public void testDirtyWordsPast64Properties() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Wide");
+        for (int i = 0; i < 64; i++) {
+            clazz.addField(MemorySources.intField("p" + i));
+        }
+        List<FieldElement> fields = MemorySources.elements(clazz.getFields().toArray(new SourceField[64]));
+        assertTrue(pipeline.replacedDeclarations(clazz, fields).contains("private long dirtyProperties;"));
+
+        clazz.addField(MemorySources.intField("p64"));
+        fields = MemorySources.elements(clazz.getFields().toArray(new SourceField[65]));
+        List<String> declarations = pipeline.replacedDeclarations(clazz, fields);
+        assertEquals("public static final int PROPERTYINDEX_P64 = 64;", declarations.get(64));
+        assertEquals(Arrays.asList(
+                "private final long[] dirtyProperties = new long[2];",
+                "private void markDirty(int index) {\ndirtyProperties[index >>> 6] |= 1L << index;\n}",
+                "public boolean isDirty(int index) {\nreturn (dirtyProperties[index >>> 6] & 1L << index) != 0;\n}",
+                "public long[] dirtyMask() {\nreturn dirtyProperties.clone();\n}",
+                "public void clearDirty() {\njava.util.Arrays.fill(dirtyProperties, 0L);\n}"),
+                declarations.subList(65, declarations.size()));
+        // the setters mark the bit the same way for the mask and the words
+        assertEquals("public void setP64(int p64) {\nmarkDirty(PROPERTYINDEX_P64);\nthis.p64 = p64;\n}",
+                pipeline.setterDeclaration(fields.get(64)));
+    }
+
+    public void testDirtyWordsCountStaleIndexes() {
+        // the bit of a stale index stays unused, so it counts for the number of words
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.indexConstant("PROPERTYINDEX_GONE", 64), age);
+        List<FieldElement> fields = MemorySources.elements(age);
+        List<String> declarations = pipeline.replacedDeclarations(clazz, fields);
+        assertEquals("public static final int PROPERTYINDEX_AGE = 65;", declarations.get(0));
+        assertEquals("private final long[] dirtyProperties = new long[2];", declarations.get(1));
+        assertEquals(Arrays.asList("PROPERTYINDEX_GONE"), pipeline.staleIndexNames(clazz, fields));
+    }
+
+    public void testDeclaredIndexesKept() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 1),
+                MemorySources.indexConstant("PROPERTYINDEX_GONE", 0),
+                firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        List<String> declarations = pipeline.replacedDeclarations(clazz, fields);
+        assertEquals("public static final int PROPERTYINDEX_AGE = 1;", declarations.get(0));
+        assertEquals("public static final int PROPERTYINDEX_FIRST_NAME = 2;", declarations.get(1));
+        assertEquals(Arrays.asList("PROPERTYINDEX_GONE"), pipeline.staleIndexNames(clazz, fields));
+    }
+
+    public void testNoIndexesWithoutDirtyTracking() {
+        pipeline.setDirtyTracking(false);
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.indexConstant("PROPERTYINDEX_GONE", 0), age);
+        List<FieldElement> fields = MemorySources.elements(age);
+        assertEquals(Collections.<String>emptyList(), pipeline.replacedDeclarations(clazz, fields));
+        assertEquals(Collections.<String>emptyList(), pipeline.staleIndexNames(clazz, fields));
+    }
+
+    public void testDirtyConflict() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", age);
+        assertNull(pipeline.dirtyConflict(clazz));
+
+        // a mask generated before is replaced
+        MemorySourceClass generated = MemorySources.newClass("x.Person", age,
+                MemorySources.field("dirtyProperties", LONG, SourceModifiers.PRIVATE));
+        generated.addMethod(new MemorySourceMethod("clearDirty", VOID, new SourceModifiers(SourceModifiers.PUBLIC)));
+        assertNull(pipeline.dirtyConflict(generated));
+
+        // a method of the class with the signature of a mask member
+        MemorySourceClass own = MemorySources.newClass("x.Person", age);
+        own.addMethod(new MemorySourceMethod("clearDirty", VOID, new SourceModifiers(SourceModifiers.PUBLIC)));
+        assertEquals("clearDirty", pipeline.dirtyConflict(own));
+
+        // a method of another signature is kept
+        MemorySourceClass overload = MemorySources.newClass("x.Person", age);
+        overload.addMethod(new MemorySourceMethod("isDirty", VOID, new SourceModifiers(SourceModifiers.PUBLIC)));
+        assertNull(pipeline.dirtyConflict(overload));
+
+        MemorySourceClass otherType =
+                MemorySources.newClass("x.Person", age, MemorySources.stringField("dirtyProperties"));
+        assertEquals("dirtyProperties", pipeline.dirtyConflict(otherType));
+    }
+
+    public void testBoundDirtySetter() {
+        pipeline.setDirtyOnly(false);
+        pipeline.setChangeSupport(true);
+        assertTrue(pipeline.isBound());
+        assertEquals("public void setAge(int age) {\n" +
+                "markDirty(PROPERTYINDEX_AGE);\n" +
+                "Object old = this.age;\n" +
+                "this.age = age;\n" +
+                "firePropertyChange(PROPERTYNAME_AGE, old, age);\n" +
+                "}", pipeline.setterDeclaration(MemorySources.elements(age).get(0)));
+    }
+
+}
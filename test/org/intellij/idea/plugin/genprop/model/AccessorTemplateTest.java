@@ -0,0 +1,57 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the rendering of the precompiled code templates.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class AccessorTemplateTest
+        extends TestCase {
+
+    public void testRender() {
+        AccessorTemplate template = AccessorTemplate.compile("public {1} {0}() {\nreturn {2};\n}");
+        assertEquals("public String getName() {\nreturn name;\n}", template.render("getName", "String", "name"));
+        assertEquals("public int getAge() {\nreturn age;\n}", template.render("getAge", "int", "age"));
+    }
+
+    public void testRepeatedPlaceholders() {
+        AccessorTemplate template = AccessorTemplate.compile("{0} old = this.{0};{1}{0}");
+        assertEquals("a old = this.a;ba", template.render("a", "b"));
+    }
+
+    public void testPlaceholdersAtTheEnds() {
+        assertEquals("xy", AccessorTemplate.compile("{0}{1}").render("x", "y"));
+        assertEquals("x", AccessorTemplate.compile("{0}").render("x"));
+    }
+
+    public void testNoPlaceholders() {
+        AccessorTemplate template = AccessorTemplate.compile("public void clear() {\n}");
+        assertEquals("public void clear() {\n}", template.render());
+        assertEquals("", AccessorTemplate.compile("").render());
+    }
+
+    public void testBracesKept() {
+        // only a brace around an argument index is a placeholder
+        assertEquals("{} {x} {0 {-1} { } {a}", AccessorTemplate.compile("{} {x} {0 {-1} { } {0}").render("{a}"));
+        assertEquals("{", AccessorTemplate.compile("{").render());
+        assertEquals("}", AccessorTemplate.compile("}").render());
+        assertEquals("{a}", AccessorTemplate.compile("{{0}}").render("a"));
+    }
+
+    public void testMultiDigitIndex() {
+        AccessorTemplate template = AccessorTemplate.compile("{10}-{1}");
+        assertEquals("k-b", template.render("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k"));
+    }
+
+    public void testRenderIntoBuilder() {
+        AccessorTemplate template = AccessorTemplate.compile("set{0}({1});\n");
+        StringBuilder sb = new StringBuilder("// setters\n");
+        template.render(sb, "Name", "name");
+        template.render(sb, "Age", "age");
+        assertEquals("// setters\nsetName(name);\nsetAge(age);\n", sb.toString());
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+import org.intellij.idea.plugin.genprop.config.FilterPattern;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the filtering of the members of a class in memory, without PSI.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class GenerationPipelineTest
+        extends TestCase {
+
+    private static final SourceType STRING = new SourceType("java.lang.String", "String",
+            new TypeClassification(TypeClassification.OBJECT | TypeClassification.STRING));
+    private static final SourceType BOOLEAN = new SourceType("boolean", "boolean",
+            new TypeClassification(TypeClassification.PRIMITIVE | TypeClassification.BOOLEAN));
+    private static final SourceType VOID = new SourceType("void", "void", new TypeClassification(0));
+
+    private final GenerationPipeline pipeline = new PropertyConstantPipeline();
+    private final FilterPattern pattern = new FilterPattern();
+
+    private final SourceField name = MemorySources.stringField("name");
+    private final SourceField log = MemorySources.field("LOG", STRING,
+            SourceModifiers.PRIVATE | SourceModifiers.STATIC | SourceModifiers.FINAL);
+    private final SourceField count = MemorySources.field("count", STRING, SourceModifiers.STATIC);
+    private final SourceField cache = MemorySources.field("cache", STRING, SourceModifiers.TRANSIENT);
+
+    public void testFilterFields() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", name, log, count, cache);
+        assertEquals(clazz.getFields(), pipeline.filterFields(clazz, pattern));
+
+        pattern.setConstantField(true);
+        assertEquals(Arrays.asList(name, count, cache), pipeline.filterFields(clazz, pattern));
+        pattern.setStaticModifier(true);
+        assertEquals(Arrays.asList(name, cache), pipeline.filterFields(clazz, pattern));
+        pattern.setTransientModifier(true);
+        assertEquals(Arrays.asList(name), pipeline.filterFields(clazz, pattern));
+    }
+
+    public void testFilterFieldsByName() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", name, cache);
+        pattern.setFieldName("c.*");
+        assertEquals(Arrays.asList(name), pipeline.filterFields(clazz, pattern));
+    }
+
+    public void testFilterMethods() {
+        MemorySourceMethod fullName =
+                new MemorySourceMethod("getFullName", STRING, new SourceModifiers(SourceModifiers.PUBLIC));
+        MemorySourceMethod active =
+                new MemorySourceMethod("isActive", BOOLEAN, new SourceModifiers(SourceModifiers.PUBLIC));
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", name);
+        clazz.addMethod(fullName);
+        clazz.addMethod(active);
+        // the getter of a field
+        clazz.addMethod(new MemorySourceMethod("getName", STRING, new SourceModifiers(SourceModifiers.PUBLIC)));
+        // not getters
+        clazz.addMethod(new MemorySourceMethod("isEmpty", STRING, new SourceModifiers(SourceModifiers.PUBLIC)));
+        clazz.addMethod(new MemorySourceMethod("getNothing", VOID, new SourceModifiers(SourceModifiers.PUBLIC)));
+        clazz.addMethod(new MemorySourceMethod("toString", STRING, new SourceModifiers(SourceModifiers.PUBLIC)));
+        // not public, static or abstract
+        clazz.addMethod(new MemorySourceMethod("getHidden", STRING, new SourceModifiers(SourceModifiers.PRIVATE)));
+        clazz.addMethod(new MemorySourceMethod("getDefault", STRING,
+                new SourceModifiers(SourceModifiers.PUBLIC | SourceModifiers.STATIC)));
+        clazz.addMethod(new MemorySourceMethod("getAbstract", STRING,
+                new SourceModifiers(SourceModifiers.PUBLIC | SourceModifiers.ABSTRACT)));
+
+        assertEquals(Arrays.asList(fullName, active), pipeline.filterMethods(clazz, pattern));
+        pattern.setMethodName("is.*");
+        assertEquals(Arrays.asList(fullName), pipeline.filterMethods(clazz, pattern));
+    }
+
+    public void testNoFields() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Empty");
+        assertEquals(Collections.<SourceField>emptyList(), pipeline.filterFields(clazz, pattern));
+        assertEquals("", pipeline.declarationText(MemorySources.elements()));
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+import org.intellij.idea.plugin.genprop.element.SourceElementFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the members of the classes in memory the pipelines are tested on.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+final class MemorySources {
+
+    private static final int CONSTANT = SourceModifiers.PUBLIC | SourceModifiers.STATIC | SourceModifiers.FINAL;
+
+    private MemorySources() {
+    }
+
+    static SourceField intField(String name) {
+        return field(name, new SourceType("int", "int", new TypeClassification(
+                TypeClassification.PRIMITIVE | TypeClassification.NUMERIC)), SourceModifiers.PRIVATE);
+    }
+
+    static SourceField booleanField(String name) {
+        return field(name, new SourceType("boolean", "boolean", new TypeClassification(
+                TypeClassification.PRIMITIVE | TypeClassification.BOOLEAN)), SourceModifiers.PRIVATE);
+    }
+
+    static SourceField stringField(String name) {
+        return field(name, new SourceType("java.lang.String", "String", new TypeClassification(
+                TypeClassification.OBJECT | TypeClassification.STRING)), SourceModifiers.PRIVATE);
+    }
+
+    static SourceField field(String name, SourceType type, int modifiers) {
+        return new MemorySourceField(name, type, new SourceModifiers(modifiers));
+    }
+
+    /**
+     * A property name constant, PROPERTYNAME_FIRST_NAME = "firstName".
+     */
+    static SourceField nameConstant(String constantName, String propertyName) {
+        return new MemorySourceField(constantName, new SourceType("java.lang.String", "String",
+                new TypeClassification(TypeClassification.OBJECT | TypeClassification.STRING)),
+                new SourceModifiers(CONSTANT), propertyName);
+    }
+
+    /**
+     * A property index constant, PROPERTYINDEX_FIRST_NAME = 0.
+     */
+    static SourceField indexConstant(String constantName, int index) {
+        return new MemorySourceField(constantName, new SourceType("int", "int",
+                new TypeClassification(TypeClassification.PRIMITIVE | TypeClassification.NUMERIC)),
+                new SourceModifiers(CONSTANT), index);
+    }
+
+    /**
+     * Creates a class with the fields.
+     */
+    static MemorySourceClass newClass(String qualifiedName, SourceField... fields) {
+        MemorySourceClass clazz = new MemorySourceClass(qualifiedName, null);
+        for (SourceField field : fields) {
+            clazz.addField(field);
+        }
+        return clazz;
+    }
+
+    /**
+     * Get's the elements of the fields.
+     */
+    static List<FieldElement> elements(SourceField... fields) {
+        List<FieldElement> elements = new ArrayList<FieldElement>(fields.length);
+        for (SourceField field : fields) {
+            elements.add(SourceElementFactory.newFieldElement(field));
+        }
+        return elements;
+    }
+
+}
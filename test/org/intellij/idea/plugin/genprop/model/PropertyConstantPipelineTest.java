@@ -0,0 +1,104 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the property name constants and the property enum generated on a class in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyConstantPipelineTest
+        extends TestCase {
+
+    private final PropertyConstantPipeline pipeline = new PropertyConstantPipeline();
+
+    private final SourceField firstName = MemorySources.stringField("firstName");
+    private final SourceField age = MemorySources.intField("age");
+    private final SourceField firstNameConstant =
+            MemorySources.nameConstant("PROPERTYNAME_FIRST_NAME", "firstName");
+
+    public void testDeclarationText() {
+        assertEquals("public static final String PROPERTYNAME_FIRST_NAME = \"firstName\";\n" +
+                "public static final String PROPERTYNAME_AGE = \"age\";\n",
+                pipeline.declarationText(MemorySources.elements(firstName, age)));
+    }
+
+    public void testPreselectSkipsFieldsWithConstant() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstNameConstant, firstName, age);
+        assertEquals(Arrays.asList(age), pipeline.preselect(clazz, Arrays.asList(firstName, age)));
+    }
+
+    public void testPreselectSkipsFieldsWithInheritedConstant() {
+        MemorySourceClass base = MemorySources.newClass("x.Base", firstNameConstant);
+        MemorySourceClass clazz = new MemorySourceClass("x.Person", base);
+        clazz.addField(firstName);
+        clazz.addField(age);
+        assertEquals(Arrays.asList(age), pipeline.preselect(clazz, clazz.getFields()));
+    }
+
+    public void testFindConflicts() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstNameConstant, firstName, age);
+        List<SourceMember> conflicts = pipeline.findConflicts(clazz, Arrays.asList(firstName, age));
+        assertEquals(1, conflicts.size());
+        assertSame(firstNameConstant, conflicts.get(0));
+    }
+
+    public void testMissingDeclarationText() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstNameConstant, firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        assertEquals("public static final String PROPERTYNAME_AGE = \"age\";\n",
+                pipeline.missingDeclarationText(clazz, fields));
+    }
+
+    public void testNoEnum() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age);
+        assertNull(pipeline.enumDeclaration(clazz, MemorySources.elements(firstName, age)));
+    }
+
+    public void testEnum() {
+        pipeline.setPropertyEnum(true);
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age);
+        String declaration = pipeline.enumDeclaration(clazz, MemorySources.elements(firstName, age));
+        assertTrue(declaration, declaration.startsWith("public enum Property {\n" +
+                "FIRST_NAME(PROPERTYNAME_FIRST_NAME, String.class),\n" +
+                "AGE(PROPERTYNAME_AGE, int.class);\n"));
+        assertTrue(declaration, declaration.contains("public static Property of(String propertyName) {\n" +
+                "if (propertyName == null) {\nreturn null;\n}\n"));
+        assertTrue(declaration, declaration.endsWith("case PROPERTYNAME_FIRST_NAME:\nreturn FIRST_NAME;\n" +
+                "case PROPERTYNAME_AGE:\nreturn AGE;\n" +
+                "default:\nreturn null;\n}\n}\n}"));
+    }
+
+    public void testEnumKeepsPropertiesWithConstant() {
+        pipeline.setPropertyEnum(true);
+        // the enum replaces the existing one, so it lists the properties of the existing constants in field order
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"), firstName, age);
+        String declaration = pipeline.enumDeclaration(clazz, MemorySources.elements(firstName));
+        assertTrue(declaration, declaration.startsWith("public enum Property {\n" +
+                "FIRST_NAME(PROPERTYNAME_FIRST_NAME, String.class),\n" +
+                "AGE(PROPERTYNAME_AGE, int.class);\n"));
+    }
+
+    public void testEnumErasesTypeVariables() {
+        pipeline.setPropertyEnum(true);
+        SourceField value = MemorySources.field("value",
+                new SourceType("T", "T", "java.lang.Number", new TypeClassification(TypeClassification.OBJECT)),
+                SourceModifiers.PRIVATE);
+        SourceField values = MemorySources.field("values",
+                new SourceType("java.util.List<T>", "List<T>", "java.util.List", new TypeClassification(
+                        TypeClassification.OBJECT | TypeClassification.COLLECTION | TypeClassification.LIST)),
+                SourceModifiers.PRIVATE);
+        MemorySourceClass clazz = MemorySources.newClass("x.Holder", value, values);
+        String declaration = pipeline.enumDeclaration(clazz, MemorySources.elements(value, values));
+        assertTrue(declaration, declaration.startsWith("public enum Property {\n" +
+                "VALUE(PROPERTYNAME_VALUE, java.lang.Number.class),\n" +
+                "VALUES(PROPERTYNAME_VALUES, java.util.List.class);\n"));
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the get and set property by name methods generated on a class in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyDispatchPipelineTest
+        extends TestCase {
+
+    private static final SourceType STRING = new SourceType("java.lang.String", "String",
+            new TypeClassification(TypeClassification.OBJECT | TypeClassification.STRING));
+
+    private final PropertyDispatchPipeline pipeline = new PropertyDispatchPipeline();
+
+    private final SourceField firstName = MemorySources.stringField("firstName");
+    private final SourceField age = MemorySources.intField("age");
+    private final SourceField active = MemorySources.booleanField("active");
+
+    public void testGetterDeclaration() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age);
+        clazz.addMethod(new MemorySourceMethod("getFirstName", STRING, new SourceModifiers(SourceModifiers.PUBLIC)));
+        assertEquals("public Object getProperty(String name) {\n" +
+                "switch (name) {\n" +
+                "case PROPERTYNAME_FIRST_NAME:\nreturn getFirstName();\n" +
+                "case PROPERTYNAME_AGE:\nreturn this.age;\n" +
+                "default:\nthrow new IllegalArgumentException(\"Unknown property: \" + name);\n}\n}",
+                pipeline.getterDeclaration(clazz, MemorySources.elements(firstName, age)));
+    }
+
+    public void testSetterDeclaration() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age, active);
+        clazz.addMethod(new MemorySourceMethod("setFirstName", null, new SourceModifiers(SourceModifiers.PUBLIC),
+                "java.lang.String"));
+        assertEquals("public void setProperty(String name, Object value) {\n" +
+                "switch (name) {\n" +
+                "case PROPERTYNAME_FIRST_NAME:\nsetFirstName((String) value);\nbreak;\n" +
+                "case PROPERTYNAME_AGE:\nthis.age = ((Number) value).intValue();\nbreak;\n" +
+                "case PROPERTYNAME_ACTIVE:\nthis.active = (Boolean) value;\nbreak;\n" +
+                "default:\nthrow new IllegalArgumentException(\"Unknown property: \" + name);\n}\n}",
+                pipeline.setterDeclaration(clazz, MemorySources.elements(firstName, age, active)));
+    }
+
+    public void testFinalFieldIsReadOnly() {
+        SourceField id = MemorySources.field("id", STRING, SourceModifiers.PRIVATE | SourceModifiers.FINAL);
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", id);
+        String declaration = pipeline.setterDeclaration(clazz, MemorySources.elements(id));
+        assertTrue(declaration, declaration.contains("case PROPERTYNAME_ID:\n" +
+                "throw new UnsupportedOperationException(\"Property \" + name + \" is read-only\");\n"));
+    }
+
+    public void testGenericFieldSuppressesUnchecked() {
+        SourceField names = MemorySources.field("names",
+                new SourceType("java.util.List<java.lang.String>", "List<String>", "java.util.List",
+                        new TypeClassification(TypeClassification.OBJECT | TypeClassification.COLLECTION
+                                | TypeClassification.LIST)),
+                SourceModifiers.PRIVATE);
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", names, age);
+        String declaration = pipeline.setterDeclaration(clazz, MemorySources.elements(names, age));
+        assertTrue(declaration, declaration.startsWith("@SuppressWarnings(\"unchecked\")\n" +
+                "public void setProperty(String name, Object value) {\n"));
+        assertTrue(declaration, declaration.contains("this.names = (List<String>) value;\n"));
+        assertFalse(pipeline.setterDeclaration(clazz, MemorySources.elements(age)).startsWith("@"));
+    }
+
+    public void testMissingConstants() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_FIRST_NAME", "firstName"), firstName, age);
+        assertEquals("public static final String PROPERTYNAME_AGE = \"age\";\n",
+                pipeline.missingConstantsText(clazz, MemorySources.elements(firstName, age)));
+    }
+
+}
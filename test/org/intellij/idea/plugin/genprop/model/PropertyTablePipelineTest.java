@@ -0,0 +1,146 @@
+package org.intellij.idea.plugin.genprop.model;
+
+import junit.framework.TestCase;
+import org.intellij.idea.plugin.genprop.element.FieldElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the accessor table and the property index constants generated on a class in memory.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class PropertyTablePipelineTest
+        extends TestCase {
+
+    private static final SourceType STRING = new SourceType("java.lang.String", "String",
+            new TypeClassification(TypeClassification.OBJECT | TypeClassification.STRING));
+
+    private final PropertyTablePipeline pipeline = new PropertyTablePipeline();
+
+    private final SourceField firstName = MemorySources.stringField("firstName");
+    private final SourceField age = MemorySources.intField("age");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        pipeline.setClassName("Person");
+    }
+
+    public void testIndexesOfNewProperties() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        assertEquals(Arrays.asList(
+                "public static final int PROPERTYINDEX_FIRST_NAME = 0;",
+                "public static final int PROPERTYINDEX_AGE = 1;"),
+                pipeline.indexDeclarations(clazz, fields));
+        assertEquals(Collections.<String>emptyList(), pipeline.staleIndexNames(clazz, fields));
+    }
+
+    public void testDeclaredIndexKept() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 2),
+                firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        assertEquals(Arrays.asList(
+                "public static final int PROPERTYINDEX_AGE = 2;",
+                "public static final int PROPERTYINDEX_FIRST_NAME = 3;"),
+                pipeline.indexDeclarations(clazz, fields));
+    }
+
+    public void testStaleIndex() {
+        // the name constant of the index is gone, its index is not given to another property
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 0),
+                MemorySources.indexConstant("PROPERTYINDEX_GONE", 1),
+                firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        assertEquals(Arrays.asList("PROPERTYINDEX_GONE"), pipeline.staleIndexNames(clazz, fields));
+        assertEquals(Arrays.asList(
+                "public static final int PROPERTYINDEX_AGE = 0;",
+                "public static final int PROPERTYINDEX_FIRST_NAME = 2;"),
+                pipeline.indexDeclarations(clazz, fields));
+    }
+
+    public void testDuplicateIndex() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_FIRST_NAME", "firstName"),
+                MemorySources.indexConstant("PROPERTYINDEX_FIRST_NAME", 0),
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 0),
+                firstName, age);
+        List<FieldElement> fields = MemorySources.elements(firstName, age);
+        assertEquals(Arrays.asList(
+                "public static final int PROPERTYINDEX_FIRST_NAME = 0;",
+                "public static final int PROPERTYINDEX_AGE = 1;"),
+                pipeline.indexDeclarations(clazz, fields));
+    }
+
+    public void testTableWithGaps() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 1),
+                firstName, age);
+        String table = pipeline.tableDeclaration(clazz, MemorySources.elements(firstName, age));
+        assertEquals("public static final java.util.List<PropertyAccessor> PROPERTY_ACCESSORS =\n" +
+                "java.util.Collections.unmodifiableList(java.util.Arrays.asList(\n" +
+                "(PropertyAccessor) null,\n" +
+                "new PropertyAccessor(Person.PROPERTYNAME_AGE, Person.PROPERTYINDEX_AGE, int.class, " +
+                "bean -> bean.age, (bean, value) -> bean.age = (Integer) value),\n" +
+                "new PropertyAccessor(Person.PROPERTYNAME_FIRST_NAME, Person.PROPERTYINDEX_FIRST_NAME, String.class, " +
+                "bean -> bean.firstName, (bean, value) -> bean.firstName = (String) value)));", table);
+    }
+
+    public void testTableEntryOfPropertyNotSelected() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_FIRST_NAME", "firstName"),
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                firstName, age);
+        String table = pipeline.tableDeclaration(clazz, MemorySources.elements(age));
+        assertTrue(table, table.contains(
+                "asList(\n(PropertyAccessor) null,\nnew PropertyAccessor(Person.PROPERTYNAME_AGE"));
+    }
+
+    public void testTableUsesAccessorMethods() {
+        SourceField id = MemorySources.field("id", STRING, SourceModifiers.PRIVATE | SourceModifiers.FINAL);
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName, id);
+        clazz.addMethod(new MemorySourceMethod("getFirstName", STRING, new SourceModifiers(SourceModifiers.PUBLIC)));
+        clazz.addMethod(new MemorySourceMethod("setFirstName", null, new SourceModifiers(SourceModifiers.PUBLIC),
+                "java.lang.String"));
+        String table = pipeline.tableDeclaration(clazz, MemorySources.elements(firstName, id));
+        assertTrue(table, table.contains(
+                "bean -> bean.getFirstName(), (bean, value) -> bean.setFirstName((String) value))"));
+        // a final field is read-only
+        assertTrue(table, table.contains("bean -> bean.id, null)"));
+    }
+
+    public void testSupportDeclarations() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person", firstName);
+        List<String> declarations = pipeline.supportDeclarations(clazz, false);
+        assertEquals(2, declarations.size());
+        assertTrue(declarations.get(0).startsWith("public static PropertyAccessor propertyAccessor(String name) {"));
+        assertTrue(declarations.get(1).startsWith("public static final class PropertyAccessor {"));
+        assertTrue(declarations.get(1).contains("java.util.function.Function<Person, Object> getter;"));
+
+        clazz.addMethod(new MemorySourceMethod("propertyAccessor", null, new SourceModifiers(SourceModifiers.PUBLIC),
+                "java.lang.String"));
+        assertEquals(Collections.<String>emptyList(), pipeline.supportDeclarations(clazz, true));
+    }
+
+    public void testAllFieldsPreselected() {
+        MemorySourceClass clazz = MemorySources.newClass("x.Person",
+                MemorySources.nameConstant("PROPERTYNAME_AGE", "age"),
+                MemorySources.indexConstant("PROPERTYINDEX_AGE", 0),
+                firstName, age);
+        assertEquals(Arrays.asList(firstName, age), pipeline.preselect(clazz, Arrays.asList(firstName, age)));
+        List<SourceMember> conflicts = pipeline.findConflicts(clazz, Arrays.asList(firstName, age));
+        assertEquals(1, conflicts.size());
+        assertEquals("PROPERTYINDEX_AGE", conflicts.get(0).getName());
+    }
+
+}
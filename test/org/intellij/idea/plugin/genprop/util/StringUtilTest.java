@@ -0,0 +1,68 @@
+package org.intellij.idea.plugin.genprop.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the names generated from the field names and their cache.
+ *
+ * @author Thomas Edwin Santosa
+ * @since 0.16
+ */
+public class StringUtilTest
+        extends TestCase {
+
+    public void testPropertyConstantName() {
+        assertEquals("PROPERTYNAME_FIRST_NAME", StringUtil.generatePropertyConstantName("firstName"));
+        assertEquals("PROPERTYNAME_AGE", StringUtil.generatePropertyConstantName("age"));
+        assertEquals("PROPERTYNAME_X", StringUtil.generatePropertyConstantName("x"));
+        assertEquals("PROPERTYNAME_HOME_ADDRESS2", StringUtil.generatePropertyConstantName("homeAddress2"));
+    }
+
+    public void testUpperCaseName() {
+        assertEquals("FIRST_NAME", StringUtil.generateUpperCaseName("firstName"));
+        assertEquals("AGE", StringUtil.generateUpperCaseName("age"));
+    }
+
+    public void testPropertyIndexName() {
+        assertEquals("PROPERTYINDEX_FIRST_NAME", StringUtil.generatePropertyIndexName("PROPERTYNAME_FIRST_NAME"));
+        assertTrue(StringUtil.isPropertyIndexName("PROPERTYINDEX_FIRST_NAME"));
+        assertFalse(StringUtil.isPropertyIndexName("PROPERTYNAME_FIRST_NAME"));
+        assertFalse(StringUtil.isPropertyIndexName(null));
+        assertTrue(StringUtil.isPropertyConstantName("PROPERTYNAME_FIRST_NAME"));
+        assertFalse(StringUtil.isPropertyConstantName("PROPERTYINDEX_FIRST_NAME"));
+        assertFalse(StringUtil.isPropertyConstantName(null));
+    }
+
+    public void testAccessorNames() {
+        assertEquals("setFirstName", StringUtil.generateSetterName("firstName"));
+        assertEquals("getFirstName", StringUtil.generateGetterNameGeneral("firstName"));
+        assertEquals("isActive", StringUtil.generateGetterNameBoolean("active"));
+        assertEquals("setX", StringUtil.generateSetterName("x"));
+        assertEquals("set", StringUtil.generateSetterName(""));
+    }
+
+    public void testAccessorNamesOfNull() {
+        assertEquals("setnull", StringUtil.generateSetterName(null));
+        assertEquals("getnull", StringUtil.generateGetterNameGeneral(null));
+        assertEquals("isnull", StringUtil.generateGetterNameBoolean(null));
+    }
+
+    public void testSameNamesReturned() {
+        String setter = StringUtil.generateSetterName("lastName");
+        assertSame(setter, StringUtil.generateSetterName("lastName"));
+        assertSame(StringUtil.generatePropertyConstantName("lastName"),
+                StringUtil.generatePropertyConstantName("lastName"));
+    }
+
+    public void testCacheClearedWhenFull() {
+        String constant = StringUtil.generatePropertyConstantName("middleName");
+        // more names than the cache holds, so it is cleared after the name was cached
+        for (int i = 0; i < 5000; i++) {
+            StringUtil.generatePropertyConstantName("name" + i);
+        }
+        String generated = StringUtil.generatePropertyConstantName("middleName");
+        assertEquals(constant, generated);
+        assertNotSame(constant, generated);
+    }
+
+}